@@ -0,0 +1,19 @@
+package com.example.algorithmsnake;
+import android.util.Log;
+
+// forwards the core's GameLog to logcat
+final class AndroidLogSink implements GameLog.Sink {
+    private static final AndroidLogSink INSTANCE = new AndroidLogSink();
+
+    static void install() {
+        GameLog.setSink(INSTANCE);
+    }
+
+    @Override
+    public void log(int priority, String tag, String message, Throwable error) {
+        if (error != null) {
+            message = message + '\n' + Log.getStackTraceString(error);
+        }
+        Log.println(priority, tag, message);
+    }
+}
@@ -2,12 +2,22 @@ package com.example.algorithmsnake;
 
 public class AppDestinations {
     public static final String MAIN_MENU_ROUTE = "main_menu";
-    public static final String GAME_SCREEN_ROUTE_PATTERN = "game_screen/{isPlayerMode}/{gameSpeed}";
+    public static final String GAME_SCREEN_ROUTE_PATTERN = "game_screen/{isPlayerMode}/{gameSpeed}/{arenaSize}?aiSnakes={aiSnakes}&mix={mix}&layout={layout}";
     public static final String IS_PLAYER_MODE_ARG = "isPlayerMode";
     public static final String GAME_SPEED_ARG = "gameSpeed";
+    public static final String ARENA_SIZE_ARG = "arenaSize";
+    // optional lineup, 0 AI snakes is the default lineup, mix is a comma separated list of PathAlgorithm names
+    public static final String AI_SNAKES_ARG = "aiSnakes";
+    public static final String MIX_ARG = "mix";
+    public static final String LAYOUT_ARG = "layout";
+    public static final String REPLAY_SCREEN_ROUTE = "replay_screen";
 
-    public static String buildGameRoute(boolean isPlayerMode, int gameSpeed) {
-        return "game_screen/" + isPlayerMode + "/" + gameSpeed;
+    public static String buildGameRoute(boolean isPlayerMode, int gameSpeed, int arenaSize) {
+        return "game_screen/" + isPlayerMode + "/" + gameSpeed + "/" + arenaSize;
+    }
+
+    public static String buildGameRoute(boolean isPlayerMode, int gameSpeed, int arenaSize, int aiSnakes, String mix, String layout) {
+        return buildGameRoute(isPlayerMode, gameSpeed, arenaSize) + "?aiSnakes=" + aiSnakes + "&mix=" + mix + "&layout=" + layout;
     }
 
     private AppDestinations() {}
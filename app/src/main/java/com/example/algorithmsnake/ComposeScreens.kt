@@ -3,6 +3,8 @@ import android.app.Activity
 import androidx.activity.compose.BackHandler // Import BackHandler specifically
 import androidx.compose.foundation.background
 import androidx.compose.foundation.layout.*
+import androidx.compose.foundation.rememberScrollState
+import androidx.compose.foundation.verticalScroll
 import androidx.compose.material3.*
 import androidx.compose.runtime.*
 import androidx.compose.ui.Alignment
@@ -34,29 +36,73 @@ fun AppNavigation(navController: NavHostController) {
             route = AppDestinations.GAME_SCREEN_ROUTE_PATTERN,
             arguments = listOf(
                 navArgument(AppDestinations.IS_PLAYER_MODE_ARG) { type = NavType.BoolType },
-                navArgument(AppDestinations.GAME_SPEED_ARG) { type = NavType.IntType }
+                navArgument(AppDestinations.GAME_SPEED_ARG) { type = NavType.IntType },
+                navArgument(AppDestinations.ARENA_SIZE_ARG) { type = NavType.IntType },
+                navArgument(AppDestinations.AI_SNAKES_ARG) { type = NavType.IntType; defaultValue = 0 },
+                navArgument(AppDestinations.MIX_ARG) { type = NavType.StringType; defaultValue = "" },
+                navArgument(AppDestinations.LAYOUT_ARG) { type = NavType.StringType; defaultValue = Lineup.Layout.GRID.name }
             )
         ) { backStackEntry ->
             val isPlayerMode = backStackEntry.arguments?.getBoolean(AppDestinations.IS_PLAYER_MODE_ARG) ?: false
             val gameSpeed = backStackEntry.arguments?.getInt(AppDestinations.GAME_SPEED_ARG) ?: 55 // Default speed
+            val arenaSize = backStackEntry.arguments?.getInt(AppDestinations.ARENA_SIZE_ARG) ?: GameEngine.GRID_WIDTH
+            val aiSnakes = backStackEntry.arguments?.getInt(AppDestinations.AI_SNAKES_ARG) ?: 0
+            val mix = (backStackEntry.arguments?.getString(AppDestinations.MIX_ARG) ?: "")
+                .split(",").filter { it.isNotBlank() }.map { Snake.PathAlgorithm.valueOf(it) }
+                .filter { Lineup.allows(it, arenaSize) } // a hand built route gets no D* Lite crowd either
+            val layout = Lineup.Layout.valueOf(backStackEntry.arguments?.getString(AppDestinations.LAYOUT_ARG) ?: Lineup.Layout.GRID.name)
+            val lineup = if (aiSnakes > 0 && mix.isNotEmpty()) {
+                Lineup(minOf(aiSnakes, Lineup.maxAiSnakes(arenaSize)), mix, layout)
+            } else null
             GameScreen(
                 navController = navController,
                 isPlayerMode = isPlayerMode,
-                gameSpeed = gameSpeed
+                gameSpeed = gameSpeed,
+                arenaSize = arenaSize,
+                lineup = lineup
             )
         }
+        // Replay Screen composable
+        composable(route = AppDestinations.REPLAY_SCREEN_ROUTE) {
+            ReplayScreen(navController = navController)
+        }
     }
 }
 
 
 // main menu composable
-@OptIn(ExperimentalMaterial3Api::class)
+@OptIn(ExperimentalMaterial3Api::class, ExperimentalLayoutApi::class)
 @Composable
 fun MainMenuScreen(navController: NavHostController) {
     val context = LocalContext.current
     val difficulties = listOf("Slugg Fest", "Medium", "Deranged")
     var selectedDifficulty by remember { mutableStateOf(difficulties[1]) }
     var isDropdownExpanded by remember { mutableStateOf(false) }
+    val arenas = listOf("Classic", "Large", "Huge")
+    var selectedArena by remember { mutableStateOf(arenas[0]) }
+    var isArenaDropdownExpanded by remember { mutableStateOf(false) }
+    val hasReplay = remember { GameSession.lastReplayFile(context).exists() }
+    var customLineup by remember { mutableStateOf(false) }
+    var aiSnakeCount by remember { mutableStateOf(50f) }
+    var scattered by remember { mutableStateOf(false) }
+    var selectedAlgorithms by remember {
+        mutableStateOf(setOf(Snake.PathAlgorithm.ASTAR, Snake.PathAlgorithm.BFS, Snake.PathAlgorithm.JPS, Snake.PathAlgorithm.FLOW_FIELD))
+    }
+
+    // route for the selected mode, the default lineup unless a custom one is switched on
+    fun buildRoute(isPlayerMode: Boolean): String {
+        val gameSpeed = getGameSpeedFromSelection(selectedDifficulty)
+        val arenaSize = getArenaSizeFromSelection(selectedArena)
+        // algorithms picked on a smaller arena may not be allowed on this one
+        val algorithms = Snake.PathAlgorithm.values().filter { it in selectedAlgorithms && Lineup.allows(it, arenaSize) }
+        if (!customLineup || algorithms.isEmpty()) {
+            return AppDestinations.buildGameRoute(isPlayerMode, gameSpeed, arenaSize)
+        }
+        val mix = algorithms.joinToString(",") { it.name }
+        val layout = if (scattered) Lineup.Layout.SCATTERED else Lineup.Layout.GRID
+        val count = minOf(aiSnakeCount.toInt(), Lineup.maxAiSnakes(arenaSize))
+        return AppDestinations.buildGameRoute(isPlayerMode, gameSpeed, arenaSize, count, mix, layout.name)
+    }
 
     // get gamespeed in milliseconds
     fun getGameSpeedFromSelection(selection: String): Int {
@@ -66,10 +112,20 @@ fun MainMenuScreen(navController: NavHostController) {
             else -> 55
         }
     }
+
+    // arena cells per side
+    fun getArenaSizeFromSelection(selection: String): Int {
+        return when (selection) {
+            "Large" -> 300
+            "Huge" -> 1000
+            else -> GameEngine.GRID_WIDTH
+        }
+    }
     Column(
         modifier = Modifier
             .fillMaxSize()
             .background(Color.Black)
+            .verticalScroll(rememberScrollState())
             .padding(16.dp),
         horizontalAlignment = Alignment.CenterHorizontally,
         verticalArrangement = Arrangement.Center
@@ -113,12 +169,92 @@ fun MainMenuScreen(navController: NavHostController) {
             }
         }
 
+        Spacer(modifier = Modifier.height(16.dp))
+
+        ExposedDropdownMenuBox(
+            expanded = isArenaDropdownExpanded,
+            onExpandedChange = { isArenaDropdownExpanded = !isArenaDropdownExpanded }
+        ) {
+            OutlinedTextField(
+                value = selectedArena,
+                onValueChange = {},
+                readOnly = true,
+                label = { Text("Arena") },
+                trailingIcon = { ExposedDropdownMenuDefaults.TrailingIcon(expanded = isArenaDropdownExpanded) },
+                modifier = Modifier.menuAnchor().fillMaxWidth(0.7f),
+                colors = ExposedDropdownMenuDefaults.outlinedTextFieldColors(
+                    focusedTextColor = Color.White, unfocusedTextColor = Color.White,
+                    disabledTextColor = Color.Gray, focusedBorderColor = Color.White,
+                    unfocusedBorderColor = Color.LightGray, focusedLabelColor = Color.White,
+                    unfocusedLabelColor = Color.LightGray, focusedTrailingIconColor = Color.White,
+                    unfocusedTrailingIconColor = Color.LightGray
+                )
+            )
+
+            ExposedDropdownMenu(
+                expanded = isArenaDropdownExpanded,
+                onDismissRequest = { isArenaDropdownExpanded = false }
+            ) {
+                arenas.forEach { arena ->
+                    val size = getArenaSizeFromSelection(arena)
+                    DropdownMenuItem(
+                        text = { Text("$arena (${size}x$size)") },
+                        onClick = {
+                            selectedArena = arena
+                            isArenaDropdownExpanded = false
+                        }
+                    )
+                }
+            }
+        }
+
+        Spacer(modifier = Modifier.height(16.dp))
+
+        // custom lineup, from a few to hundreds of AI snakes
+        val arenaSize = getArenaSizeFromSelection(selectedArena)
+        val maxAiSnakes = minOf(500, Lineup.maxAiSnakes(arenaSize))
+        Row(verticalAlignment = Alignment.CenterVertically) {
+            Text("Custom snakes", color = Color.White)
+            Spacer(modifier = Modifier.width(8.dp))
+            Switch(checked = customLineup, onCheckedChange = { customLineup = it })
+        }
+        if (customLineup) {
+            val count = minOf(aiSnakeCount.toInt(), maxAiSnakes)
+            Text("AI snakes: $count", color = Color.White)
+            Slider(
+                value = count.toFloat(),
+                onValueChange = { aiSnakeCount = it },
+                valueRange = 1f..maxAiSnakes.toFloat(),
+                modifier = Modifier.fillMaxWidth(0.7f)
+            )
+            Row(horizontalArrangement = Arrangement.spacedBy(8.dp)) {
+                FilterChip(selected = !scattered, onClick = { scattered = false }, label = { Text("Grid") })
+                FilterChip(selected = scattered, onClick = { scattered = true }, label = { Text("Scattered") })
+            }
+            // algorithms Lineup does not allow on the arena, D* Lite above Classic, are shown disabled
+            FlowRow(
+                modifier = Modifier.fillMaxWidth(0.9f),
+                horizontalArrangement = Arrangement.spacedBy(8.dp, Alignment.CenterHorizontally)
+            ) {
+                Snake.PathAlgorithm.values().forEach { algorithm ->
+                    val allowed = Lineup.allows(algorithm, arenaSize)
+                    FilterChip(
+                        selected = algorithm in selectedAlgorithms && allowed,
+                        enabled = allowed,
+                        onClick = {
+                            selectedAlgorithms = if (algorithm in selectedAlgorithms) selectedAlgorithms - algorithm else selectedAlgorithms + algorithm
+                        },
+                        label = { Text(algorithm.name) }
+                    )
+                }
+            }
+        }
+
         Spacer(modifier = Modifier.height(32.dp))
 
         //menubuttons
         Button(onClick = {
-            val gameSpeed = getGameSpeedFromSelection(selectedDifficulty)
-            navController.navigate(AppDestinations.buildGameRoute(false, gameSpeed))
+            navController.navigate(buildRoute(false))
         }, modifier = Modifier.fillMaxWidth(0.6f)) {
             Text("Simulation")
         }
@@ -126,14 +262,21 @@ fun MainMenuScreen(navController: NavHostController) {
         Spacer(modifier = Modifier.height(16.dp))
 
         Button(onClick = {
-            val gameSpeed = getGameSpeedFromSelection(selectedDifficulty)
-            navController.navigate(AppDestinations.buildGameRoute(true, gameSpeed))
+            navController.navigate(buildRoute(true))
         }, modifier = Modifier.fillMaxWidth(0.6f)) {
             Text("Play")
         }
 
         Spacer(modifier = Modifier.height(16.dp))
 
+        Button(onClick = {
+            navController.navigate(AppDestinations.REPLAY_SCREEN_ROUTE)
+        }, enabled = hasReplay, modifier = Modifier.fillMaxWidth(0.6f)) {
+            Text("Replay")
+        }
+
+        Spacer(modifier = Modifier.height(16.dp))
+
         Button(onClick = {
             val activity = context as? Activity
             activity?.finish()
@@ -0,0 +1,52 @@
+package com.example.algorithmsnake;
+import android.util.Log;
+import java.util.Locale;
+
+// average and worst duration of something done every frame, and how many went over a budget,
+// logged under FrameStats once per window of samples. only add from one thread at a time, the
+// recent average can be read from any thread for display
+final class FrameStats {
+    private static final int WINDOW = 120;
+    private final String name;
+    private final long budgetNanos; // 0 for none
+    private int samples = 0;
+    private int overBudget = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+    private volatile long recentNanos = -1; // moving average over about the last 16 samples, -1 before any
+
+    FrameStats(String name) {
+        this(name, 0);
+    }
+
+    FrameStats(String name, long budgetNanos) {
+        this.name = name;
+        this.budgetNanos = budgetNanos;
+    }
+
+    void add(long nanos) {
+        samples++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+        long recent = recentNanos;
+        recentNanos = recent < 0 ? nanos : recent + (nanos - recent) / 16;
+        if (budgetNanos > 0 && nanos > budgetNanos) overBudget++;
+        if (samples < WINDOW) return;
+        String line = String.format(Locale.US, "%s: avg %.2f ms, max %.2f ms over %d frames",
+                name, totalNanos / 1e6 / samples, maxNanos / 1e6, samples);
+        if (budgetNanos > 0) {
+            line += String.format(Locale.US, ", %d over the %.2f ms budget", overBudget, budgetNanos / 1e6);
+        }
+        Log.d("FrameStats", line);
+        samples = 0;
+        overBudget = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    // NaN before the first sample
+    double getRecentMillis() {
+        long recent = recentNanos;
+        return recent < 0 ? Double.NaN : recent / 1e6;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.algorithmsnake;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import java.util.Arrays;
+
+// draws RenderSnapshots, shared by the game views and ReplayView. the arena lives in a bitmap of one pixel per
+// cell that keeps the walls and everything drawn before, each frame only the cells that changed
+// since the last one are set and the bitmap is scaled onto the view in one draw. arenas up to
+// VIEWPORT_CELLS per side are shown whole, larger ones through a square viewport of VIEWPORT_CELLS
+// cells centered on the camera focus
+final class GameRenderer {
+    static final int VIEWPORT_CELLS = 100;
+    private static final int EMPTY_COLOR = Color.BLACK;
+    private static final int WALL_COLOR = Color.WHITE;
+    private static final int EATABLE_COLOR = Color.CYAN;
+    private static final String GAME_OVER_TEXT = "Game Over!";
+
+    // the cells of a snake as they are on the board, updated with the moves made since
+    private static final class Trail {
+        final SnakeBody cells = new SnakeBody();
+        long pushCount;
+        int clearCount;
+        int color;
+        int paintCount; // leading cells of the body to paint this frame
+        int frame;
+    }
+
+    private final Paint boardPaint = new Paint(); // no filtering, cells stay sharp when scaled
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint textBackgroundPaint = new Paint();
+    private final Rect source = new Rect();
+    private final Rect target = new Rect();
+    private Trail[] trails = new Trail[8]; // by snake key
+    private Bitmap board;
+    private int boardSize = 0;
+    private int eatableX = -1; // eatable as it is on the board
+    private int eatableY = -1;
+    private int frame = 0;
+    private int cameraX = 0; // first visible cell
+    private int cameraY = 0;
+
+    GameRenderer() {
+        boardPaint.setFilterBitmap(false);
+        textPaint.setColor(Color.RED);
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        textBackgroundPaint.setColor(Color.argb(180, 0, 0, 0));
+    }
+
+    // snapshot may be null, then only the board of arenaSize is drawn. focus is the index of the
+    // snake in the snapshot the camera follows, -1 keeps the camera where it is
+    void draw(Canvas canvas, int viewWidth, int viewHeight, int arenaSize, RenderSnapshot snapshot, int focus) {
+        if (viewWidth <= 0 || viewHeight <= 0) return;
+        if (snapshot != null) arenaSize = snapshot.getArenaSize();
+        if (board == null || boardSize != arenaSize) resetBoard(arenaSize);
+        updateBoard(snapshot);
+
+        int viewCells = Math.min(arenaSize, VIEWPORT_CELLS);
+        int maxSquareSize = Math.min(viewWidth, viewHeight);
+        int unitSize = Math.max(1, maxSquareSize / viewCells);
+        int gameAreaSize = unitSize * viewCells;
+        int offsetX = (viewWidth - gameAreaSize) / 2;
+        int offsetY = (viewHeight - gameAreaSize) / 2;
+
+        // camera, the first visible cell clamped so the viewport stays inside the arena
+        if (focus >= 0 && snapshot.getLength(focus) > 0) {
+            cameraX = Math.max(0, Math.min(snapshot.getX(focus, 0) - viewCells / 2, arenaSize - viewCells));
+            cameraY = Math.max(0, Math.min(snapshot.getY(focus, 0) - viewCells / 2, arenaSize - viewCells));
+        } else {
+            cameraX = Math.max(0, Math.min(cameraX, arenaSize - viewCells));
+            cameraY = Math.max(0, Math.min(cameraY, arenaSize - viewCells));
+        }
+        source.set(cameraX, cameraY, cameraX + viewCells, cameraY + viewCells);
+        target.set(offsetX, offsetY, offsetX + gameAreaSize, offsetY + gameAreaSize);
+        canvas.drawBitmap(board, source, target, boardPaint);
+
+        // game over text
+        if (snapshot != null && snapshot.isGameOver()) {
+            textPaint.setTextSize(Math.max(20f, unitSize * 4f)); // Adjust multiplier as needed
+            float x = offsetX + gameAreaSize / 2.0f;
+            float y = offsetY + gameAreaSize / 2.0f - (textPaint.descent() + textPaint.ascent()) / 2;
+            float textWidth = textPaint.measureText(GAME_OVER_TEXT);
+            float bgPadding = unitSize * 2f;
+            canvas.drawRect(x - textWidth / 2 - bgPadding, y + textPaint.ascent() - bgPadding,
+                    x + textWidth / 2 + bgPadding, y + textPaint.descent() + bgPadding, textBackgroundPaint);
+            canvas.drawText(GAME_OVER_TEXT, x, y, textPaint);
+        }
+    }
+
+    // empty arena with its walls, every snake is drawn again on the next update
+    private void resetBoard(int arenaSize) {
+        if (board != null) board.recycle();
+        board = Bitmap.createBitmap(arenaSize, arenaSize, Bitmap.Config.ARGB_8888);
+        boardSize = arenaSize;
+        board.eraseColor(EMPTY_COLOR);
+        for (int i = 0; i < arenaSize; i++) {
+            board.setPixel(i, 0, WALL_COLOR);
+            board.setPixel(i, arenaSize - 1, WALL_COLOR);
+            board.setPixel(0, i, WALL_COLOR);
+            board.setPixel(arenaSize - 1, i, WALL_COLOR);
+        }
+        Arrays.fill(trails, null);
+        eatableX = -1;
+        eatableY = -1;
+    }
+
+    // brings the board to the snapshot. all vacated cells are cleared before any is painted, a
+    // cell one snake left may have been entered by another since the last frame
+    private void updateBoard(RenderSnapshot snapshot) {
+        frame++;
+        int newEatableX = snapshot == null ? -1 : snapshot.getEatableX();
+        int newEatableY = snapshot == null ? -1 : snapshot.getEatableY();
+        boolean eatableMoved = newEatableX != eatableX || newEatableY != eatableY;
+        if (eatableMoved) clearCell(eatableX, eatableY);
+
+        int snakeCount = snapshot == null ? 0 : snapshot.getSnakeCount();
+        for (int s = 0; s < snakeCount; s++) {
+            int key = snapshot.getKey(s);
+            if (key >= trails.length) trails = Arrays.copyOf(trails, Math.max(key + 1, trails.length * 2));
+            Trail trail = trails[key];
+            if (trail == null) {
+                trail = new Trail();
+                trail.clearCount = -1; // never matches, the first update draws it whole
+                trails[key] = trail;
+            }
+            trail.frame = frame;
+            catchUp(trail, snapshot, s);
+        }
+        // snakes that are gone leave the board
+        for (int key = 0; key < trails.length; key++) {
+            Trail trail = trails[key];
+            if (trail == null || trail.frame == frame) continue;
+            for (int i = 0; i < trail.cells.size(); i++) {
+                clearCell(trail.cells.x(i), trail.cells.y(i));
+            }
+            trails[key] = null;
+        }
+
+        if (eatableMoved) {
+            eatableX = newEatableX;
+            eatableY = newEatableY;
+            setCell(eatableX, eatableY, EATABLE_COLOR);
+        }
+        for (int s = 0; s < snakeCount; s++) {
+            Trail trail = trails[snapshot.getKey(s)];
+            for (int i = 0; i < trail.paintCount; i++) {
+                setCell(snapshot.getX(s, i), snapshot.getY(s, i), trail.color);
+            }
+            // a popped stacked tail was cleared from under the segment still on it
+            int length = snapshot.getLength(s);
+            if (length > 0) setCell(snapshot.getX(s, length - 1), snapshot.getY(s, length - 1), trail.color);
+        }
+    }
+
+    // moves the trail to snake s of the snapshot, clearing the cells it left and noting how many
+    // to paint
+    private void catchUp(Trail trail, RenderSnapshot snapshot, int s) {
+        SnakeBody cells = trail.cells;
+        int length = snapshot.getLength(s);
+        int color = snapshot.getColor(s);
+        long moves = snapshot.getPushCount(s) - trail.pushCount;
+        boolean whole = snapshot.getClearCount(s) != trail.clearCount || trail.color != color
+                || moves < 0 || moves >= length;
+        trail.pushCount = snapshot.getPushCount(s);
+        trail.clearCount = snapshot.getClearCount(s);
+        trail.color = color;
+        if (whole) {
+            for (int i = 0; i < cells.size(); i++) {
+                clearCell(cells.x(i), cells.y(i));
+            }
+            cells.clear();
+            for (int i = 0; i < length; i++) {
+                cells.addTail(snapshot.getX(s, i), snapshot.getY(s, i));
+            }
+            trail.paintCount = length;
+            return;
+        }
+        int newHeads = (int) moves;
+        for (int i = newHeads - 1; i >= 0; i--) {
+            cells.pushHead(snapshot.getX(s, i), snapshot.getY(s, i));
+        }
+        // a snake that grew after moving in the same frame kept fewer old cells than its length
+        // says, the rest of its tail repeats the last kept one
+        while (cells.size() > length || !cells.isEmpty() && (cells.tailX() != snapshot.getX(s, cells.size() - 1)
+                || cells.tailY() != snapshot.getY(s, cells.size() - 1))) {
+            clearCell(cells.tailX(), cells.tailY());
+            cells.popTail();
+        }
+        while (cells.size() < length) {
+            cells.addTail(snapshot.getX(s, cells.size()), snapshot.getY(s, cells.size()));
+        }
+        trail.paintCount = newHeads;
+    }
+
+    private void clearCell(int x, int y) {
+        setCell(x, y, EMPTY_COLOR);
+    }
+
+    private void setCell(int x, int y, int color) {
+        if (x <= 0 || y <= 0 || x >= boardSize - 1 || y >= boardSize - 1) return;
+        board.setPixel(x, y, color);
+    }
+
+    // frees the board bitmap, the next draw creates it again
+    void release() {
+        if (board != null) board.recycle();
+        board = null;
+        boardSize = 0;
+        Arrays.fill(trails, null);
+    }
+}
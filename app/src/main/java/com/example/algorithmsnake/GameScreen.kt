@@ -2,7 +2,6 @@ package com.example.algorithmsnake
 
 
 import android.content.Context
-import android.graphics.Point
 import androidx.compose.foundation.Image
 import androidx.compose.foundation.background
 import androidx.compose.foundation.layout.*
@@ -20,15 +19,31 @@ import androidx.constraintlayout.compose.ConstraintLayout
 import androidx.constraintlayout.compose.Dimension
 import androidx.navigation.NavHostController
 import com.example.algorithmsnake.R
+import java.util.Locale
+import kotlinx.coroutines.delay
 
 @Composable
 fun GameScreen(
     navController: NavHostController,
     isPlayerMode: Boolean,
-    gameSpeed: Int
+    gameSpeed: Int,
+    arenaSize: Int = GameEngine.GRID_WIDTH,
+    lineup: Lineup? = null
 ) {
     val context = LocalContext.current
-    var gameViewInstance by remember { mutableStateOf<GameView?>(null) }
+    // the game outlives the view drawing it, so the renderer can be switched mid game
+    val session = remember { GameSession(context, isPlayerMode, gameSpeed, arenaSize, lineup) }
+    var useSurface by remember { mutableStateOf(false) }
+    var drawTime by remember { mutableStateOf("") }
+    LaunchedEffect(session, useSurface) {
+        while (true) {
+            drawTime = drawTimeLabel(session, useSurface)
+            delay(500)
+        }
+    }
+    DisposableEffect(session) {
+        onDispose { session.endGameAndCleanup() }
+    }
     val dirUp = remember { Point(0, -1) }
     val dirDown = remember { Point(0, 1) }
     val dirLeft = remember { Point(-1, 0) }
@@ -41,42 +56,36 @@ fun GameScreen(
             .background(Color.Black)
             .statusBarsPadding()
     ) {
-        val (gameViewRef, controlsRef, exitButtonRef) = createRefs()
-
-        // GameView
-        AndroidView(
-            factory = { ctx ->
-                GameView(ctx, isPlayerMode, gameSpeed).also {
-                    gameViewInstance = it
-                }
-            },
-            modifier = Modifier
-                .constrainAs(gameViewRef) {
-                    top.linkTo(parent.top)
-                    if (isPlayerMode) {
-                        bottom.linkTo(controlsRef.top, margin = 16.dp)
-                    } else {
-                        bottom.linkTo(parent.bottom)
-                    }
-                    start.linkTo(parent.start)
-                    end.linkTo(parent.end)
-                    width = Dimension.fillToConstraints
-                    height = Dimension.fillToConstraints
+        val (gameViewRef, controlsRef, exitButtonRef, followButtonRef, rendererButtonRef, drawTimeRef) = createRefs()
+        val gameViewModifier = Modifier
+            .constrainAs(gameViewRef) {
+                top.linkTo(parent.top)
+                if (isPlayerMode) {
+                    bottom.linkTo(controlsRef.top, margin = 16.dp)
+                } else {
+                    bottom.linkTo(parent.bottom)
                 }
-                .aspectRatio(1f),
-            onRelease = { view ->
-                view.endGameAndCleanup()
-                gameViewInstance = null
-            },
-            update = { /* Optional */ }
-        )
+                start.linkTo(parent.start)
+                end.linkTo(parent.end)
+                width = Dimension.fillToConstraints
+                height = Dimension.fillToConstraints
+            }
+            .aspectRatio(1f)
+
+        // GameView on the main thread or GameSurfaceView on a render thread
+        key(useSurface) {
+            if (useSurface) {
+                AndroidView(factory = { ctx -> GameSurfaceView(ctx, session) }, modifier = gameViewModifier)
+            } else {
+                AndroidView(factory = { ctx -> GameView(ctx, session) }, modifier = gameViewModifier)
+            }
+        }
 
 
         // exit button
         Button(
             onClick = {
-                gameViewInstance?.endGameAndCleanup()
-                gameViewInstance = null
+                session.endGameAndCleanup()
                 navController.navigate(AppDestinations.MAIN_MENU_ROUTE) {
                     popUpTo(AppDestinations.MAIN_MENU_ROUTE) { inclusive = true }
                     launchSingleTop = true
@@ -101,6 +110,45 @@ fun GameScreen(
         }
 
 
+        // renderer switch, frame times of both go to logcat under FrameStats and the recent one is shown below
+        Button(
+            onClick = { useSurface = !useSurface },
+            modifier = Modifier
+                .zIndex(1f)
+                .constrainAs(rendererButtonRef) {
+                    top.linkTo(parent.top, margin = 16.dp)
+                    end.linkTo(exitButtonRef.start, margin = 8.dp)
+                }
+        ) {
+            Text(if (useSurface) "Surface" else "View")
+        }
+        Text(
+            text = drawTime,
+            color = Color.White,
+            style = MaterialTheme.typography.labelSmall,
+            modifier = Modifier
+                .zIndex(1f)
+                .constrainAs(drawTimeRef) {
+                    top.linkTo(rendererButtonRef.bottom, margin = 4.dp)
+                    end.linkTo(exitButtonRef.end)
+                }
+        )
+
+        // camera target, on arenas larger than the screen the player is always followed
+        if (!isPlayerMode && arenaSize > GameRenderer.VIEWPORT_CELLS) {
+            Button(
+                onClick = { session.followNextSnake() },
+                modifier = Modifier
+                    .zIndex(1f)
+                    .constrainAs(followButtonRef) {
+                        top.linkTo(parent.top, margin = 16.dp)
+                        start.linkTo(parent.start, margin = 16.dp)
+                    }
+            ) {
+                Text("Follow next")
+            }
+        }
+
         // arrow buttons
         if (isPlayerMode) {
             Column(
@@ -118,7 +166,7 @@ fun GameScreen(
             ) {
                 Row(horizontalArrangement = Arrangement.Center) {
                     Button(
-                        onClick = { gameViewInstance?.setPlayerDirection(dirUp) },
+                        onClick = { session.setPlayerDirection(dirUp) },
                         modifier = Modifier.size(64.dp)
                     ) {
                         Image(
@@ -133,7 +181,7 @@ fun GameScreen(
                     horizontalArrangement = Arrangement.Center
                 ) {
                     Button(
-                        onClick = { gameViewInstance?.setPlayerDirection(dirLeft) },
+                        onClick = { session.setPlayerDirection(dirLeft) },
                         modifier = Modifier.size(64.dp)
                     ) {
                         Image(
@@ -144,7 +192,7 @@ fun GameScreen(
                     }
                     Spacer(Modifier.width(64.dp))
                     Button(
-                        onClick = { gameViewInstance?.setPlayerDirection(dirRight) },
+                        onClick = { session.setPlayerDirection(dirRight) },
                         modifier = Modifier.size(64.dp)
                     ) {
                         Image(
@@ -156,7 +204,7 @@ fun GameScreen(
                 }
                 Row(horizontalArrangement = Arrangement.Center) {
                     Button(
-                        onClick = { gameViewInstance?.setPlayerDirection(dirDown) },
+                        onClick = { session.setPlayerDirection(dirDown) },
                         modifier = Modifier.size(64.dp)
                     ) {
                         Image(
@@ -169,4 +217,12 @@ fun GameScreen(
             }
         }
     }
-}
\ No newline at end of file
+}
+
+// recent game draw time per frame of the active renderer, in Surface mode the main thread draws none
+private fun drawTimeLabel(session: GameSession, useSurface: Boolean): String {
+    val stats = if (useSurface) session.renderThreadDrawStats else session.mainThreadDrawStats
+    val millis = stats.recentMillis
+    val drawTime = if (millis.isNaN()) "-" else String.format(Locale.US, "%.1f ms", millis)
+    return if (useSurface) "main thread 0 ms, render thread $drawTime" else "main thread $drawTime"
+}
@@ -0,0 +1,320 @@
+package com.example.algorithmsnake;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.os.SystemClock;
+import android.util.Log;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+// one running game: the engine on its own game thread, the replay recording and the camera.
+// the game thread ticks by a FixedTimestep on the monotonic clock, so the game keeps its speed
+// however long a tick takes or how fast the display refreshes. after every tick it publishes a
+// RenderSnapshot that the views draw without locks, GameView on the main thread and
+// GameSurfaceView on its render thread. input reaches the game thread through a lock-free queue,
+// nothing but the game thread touches the engine while it runs
+final class GameSession {
+    private static final int REPLAY_KEYFRAME_INTERVAL = 256;
+    private static final int MAX_CATCH_UP_TICKS = 4; // per wake up, a longer backlog is dropped
+
+    // told after every tick that there is a new state to draw, on the game thread
+    interface FrameListener {
+        void onFrame();
+    }
+
+    private final Context context;
+    private GameEngine engine; // game thread only while it runs
+    private final int gameSpeedMillis;
+    private final int arenaSize;
+    private final Lineup lineup; // null for the default three AI snakes
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    private final ConcurrentLinkedQueue<Point> directionInputs = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<GameEngine.PathfindingMode> requestedPathfindingMode = new AtomicReference<>(); // null when unchanged
+    private volatile int followedKey = -1; // camera target on arenas larger than the viewport
+    private volatile FrameListener frameListener;
+    private volatile boolean gameOver = false;
+    private final FixedTimestep timestep;
+    private final FrameStats tickStats;
+    // kept here rather than in the views so the figures survive a renderer switch
+    private final FrameStats mainThreadDrawStats = new FrameStats("draw on main thread");
+    private final FrameStats renderThreadDrawStats = new FrameStats("draw on render thread");
+    private long reportedDroppedTicks = 0;
+    private KeyframeReplayWriter replayWriter;
+    private OutputStream replayOut;
+    private File replayTempFile;
+    private Thread gameThread;
+    private volatile boolean loopRunning = false;
+
+    GameSession(Context context, boolean playerMode, int gameSpeed, int arenaSize, Lineup lineup) {
+        this.context = context.getApplicationContext();
+        this.gameSpeedMillis = Math.max(15, Math.min(gameSpeed, 100)); // check in case for gamespeed
+        this.timestep = new FixedTimestep(gameSpeedMillis * 1_000_000L, MAX_CATCH_UP_TICKS);
+        this.tickStats = new FrameStats("tick on game thread", timestep.getStepNanos());
+        this.arenaSize = Math.max(GameEngine.MIN_ARENA_SIZE, Math.min(arenaSize, GameEngine.MAX_ARENA_SIZE));
+        this.lineup = lineup;
+        Log.d("GameSessionInit", "PlayerMode=" + playerMode + ", Speed=" + this.gameSpeedMillis + ", Arena=" + this.arenaSize
+                + ", AI snakes=" + (lineup == null ? 3 : lineup.getAiSnakes()));
+        initGame(playerMode);
+    }
+
+    private void initGame(boolean playerMode) {
+        AndroidLogSink.install();
+        long seed = new Random().nextLong();
+        if (lineup == null) {
+            engine = new GameEngine(playerMode, gameSpeedMillis, seed, arenaSize);
+        } else {
+            // placed with their own generator, the engine's one stays for the game
+            List<Snake> snakes = lineup.createSnakes(playerMode, arenaSize, new Random(~seed));
+            engine = new GameEngine(snakes, gameSpeedMillis, seed, arenaSize);
+        }
+        startReplay();
+        publishSnapshot();
+
+        // start gameloop
+        loopRunning = true;
+        gameThread = new Thread(this::runGameLoop, "GameLoop");
+        gameThread.start();
+        Log.d("GameSessionInit", "Game thread started, one tick every " + gameSpeedMillis + "ms.");
+    }
+
+    // game thread: sleeps until the next tick is due, runs the due ticks and tells the view
+    private void runGameLoop() {
+        timestep.start(System.nanoTime()); // the first tick is due one step from now
+        try {
+            while (loopRunning) {
+                LockSupport.parkNanos(timestep.nanosUntilNextStep());
+                if (!loopRunning) break;
+                int due = timestep.advance(System.nanoTime());
+                for (int i = 0; i < due && loopRunning; i++) {
+                    applyInputs();
+                    updateGame();
+                    publishSnapshot();
+                }
+                if (timestep.getDroppedSteps() > reportedDroppedTicks) {
+                    Log.w("GameLoop", "Fell behind, dropped " + (timestep.getDroppedSteps() - reportedDroppedTicks)
+                            + " ticks, " + timestep.getDroppedSteps() + " in total.");
+                    reportedDroppedTicks = timestep.getDroppedSteps();
+                }
+                if (due > 0) notifyFrame();
+            }
+        } catch (RuntimeException e) {
+            Log.e("GameLoop", "Game thread failed, stopping loop.", e);
+            loopRunning = false;
+        }
+    }
+
+    // player input and mode changes queued by the UI since the last tick, in order
+    private void applyInputs() {
+        Point direction;
+        while ((direction = directionInputs.poll()) != null) {
+            engine.setPlayerDirection(direction);
+        }
+        // taken and cleared in one step, a request made meanwhile stays for the next tick
+        GameEngine.PathfindingMode mode = requestedPathfindingMode.getAndSet(null);
+        if (mode != null) engine.setPathfindingMode(mode);
+    }
+
+    // one listener at a time, the view drawing the session
+    synchronized void setFrameListener(FrameListener listener) {
+        this.frameListener = listener;
+    }
+
+    // a view being replaced may detach after its successor attached
+    synchronized void removeFrameListener(FrameListener listener) {
+        if (frameListener == listener) frameListener = null;
+    }
+
+    private void notifyFrame() {
+        FrameListener listener = frameListener;
+        if (listener != null) listener.onFrame();
+    }
+
+    // one tick of the engine, stops the loop once the game is over
+    private void updateGame() {
+        long start = SystemClock.elapsedRealtimeNanos();
+        engine.update();
+        if (replayWriter != null) {
+            try {
+                replayWriter.onTick();
+            } catch (UncheckedIOException e) {
+                Log.e("GameViewReplay", "Writing the replay failed, recording stopped.", e);
+                abortReplay();
+            }
+        }
+        if (engine.isGameOver()) {
+            Log.d("GameLoop", "Game Over detected, stopping loop.");
+            finishReplay();
+            loopRunning = false;
+        }
+        tickStats.add(SystemClock.elapsedRealtimeNanos() - start);
+    }
+
+    // the state of the engine for the views, from the thread that owns the engine
+    private void publishSnapshot() {
+        RenderSnapshot snapshot = snapshots.beginWrite();
+        snapshot.capture(arenaSize, engine.getTickCount(), engine.getSnakes(), engine.getEatable(), engine.isGameOver());
+        snapshots.publish();
+        gameOver = engine.isGameOver();
+    }
+
+    // draws the latest snapshot, from whichever thread the view renders on
+    void draw(GameRenderer renderer, Canvas canvas, int width, int height) {
+        RenderSnapshot snapshot = snapshots.acquire();
+        try {
+            renderer.draw(canvas, width, height, arenaSize, snapshot, snapshot == null ? -1 : cameraFocus(snapshot));
+        } finally {
+            snapshots.release(snapshot);
+        }
+    }
+
+    FrameStats getMainThreadDrawStats() {
+        return mainThreadDrawStats;
+    }
+
+    // one render thread at a time, a surface's thread is joined before the next one starts
+    FrameStats getRenderThreadDrawStats() {
+        return renderThreadDrawStats;
+    }
+
+    // the replay of the last finished or ended game
+    static File lastReplayFile(Context context) {
+        return new File(new File(context.getFilesDir(), "replays"), "last.snkv");
+    }
+
+    // records the game into a temp file that replaces the last replay once the game ends
+    private void startReplay() {
+        File target = lastReplayFile(context);
+        File dir = target.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            Log.e("GameViewReplay", "Could not create " + dir);
+            return;
+        }
+        replayTempFile = new File(dir, target.getName() + ".tmp");
+        try {
+            replayOut = new BufferedOutputStream(new FileOutputStream(replayTempFile), 16 * 1024);
+            replayWriter = new KeyframeReplayWriter(replayOut, engine, REPLAY_KEYFRAME_INTERVAL);
+        } catch (IOException | UncheckedIOException e) {
+            Log.e("GameViewReplay", "Could not start recording the replay.", e);
+            abortReplay();
+        }
+    }
+
+    private void finishReplay() {
+        if (replayWriter == null) return;
+        try {
+            replayWriter.finish();
+            replayOut.close();
+            File target = lastReplayFile(context);
+            if (!replayTempFile.renameTo(target)) {
+                Log.e("GameViewReplay", "Could not move the replay to " + target);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            Log.e("GameViewReplay", "Could not finish the replay.", e);
+        }
+        replayWriter = null;
+        replayOut = null;
+        replayTempFile = null;
+    }
+
+    private void abortReplay() {
+        replayWriter = null;
+        if (replayOut != null) {
+            try {
+                replayOut.close();
+            } catch (IOException ignored) {
+            }
+            replayOut = null;
+        }
+        if (replayTempFile != null) {
+            replayTempFile.delete();
+            replayTempFile = null;
+        }
+    }
+
+    boolean isGameOver() {
+        return gameOver;
+    }
+
+    // the followed snake, once it died the camera moves on to the first snake alive (the player
+    // comes first)
+    private int cameraFocus(RenderSnapshot snapshot) {
+        int index = snapshot.indexOf(followedKey);
+        if (index < 0) {
+            if (snapshot.isGameOver() || snapshot.getSnakeCount() == 0) return -1;
+            index = 0;
+            followedKey = snapshot.getKey(0);
+        }
+        return index;
+    }
+
+    // camera on the next AI snake alive, for simulations on large arenas
+    void followNextSnake() {
+        RenderSnapshot snapshot = snapshots.acquire();
+        if (snapshot == null) return;
+        try {
+            int count = snapshot.getSnakeCount();
+            if (count == 0) return;
+            followedKey = snapshot.getKey((snapshot.indexOf(followedKey) + 1) % count);
+        } finally {
+            snapshots.release(snapshot);
+        }
+        notifyFrame();
+    }
+
+    void setPlayerDirection(Point requestedDirection) {
+        if (requestedDirection != null) directionInputs.offer(requestedDirection);
+    }
+
+    // stops the game thread and waits for it, the engine belongs to the caller afterwards
+    void stopGameLoop() {
+        loopRunning = false;
+        Thread thread = gameThread;
+        if (thread == null || thread == Thread.currentThread()) return;
+        LockSupport.unpark(thread);
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        gameThread = null;
+        Log.d("GameViewLifecycle", "Game thread stopped.");
+    }
+
+    void setPathfindingMode(GameEngine.PathfindingMode mode) {
+        requestedPathfindingMode.set(mode);
+    }
+
+    void cleanup() {
+        Log.d("GameViewLifecycle", "cleanup() called.");
+        stopGameLoop();
+        finishReplay();
+        if (engine != null) {
+            engine.shutdown();
+            engine = null;
+        }
+        notifyFrame();
+    }
+
+    void endGameAndCleanup() {
+        Log.d("GameViewLifecycle", "endGameAndCleanup called.");
+        stopGameLoop();
+        if (engine != null && !engine.isGameOver()) {
+            engine.endGame();
+            publishSnapshot();
+            Log.d("GameViewLifecycle", "Setting gameOver=true.");
+        }
+        cleanup();
+    }
+}
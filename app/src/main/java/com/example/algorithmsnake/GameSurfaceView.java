@@ -0,0 +1,133 @@
+package com.example.algorithmsnake;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
+
+// draws a GameSession on its own render thread: each tick wakes the thread, which locks the
+// surface canvas, draws and posts it, so the main thread only runs the UI
+public class GameSurfaceView extends SurfaceView implements SurfaceHolder.Callback {
+    private final GameSession session;
+    private final GameRenderer renderer = new GameRenderer();
+    private RenderThread renderThread;
+    private GameSession.FrameListener frameListener;
+
+    GameSurfaceView(Context context, GameSession session) {
+        super(context);
+        this.session = session;
+        getHolder().addCallback(this);
+    }
+
+    @Override
+    public void surfaceCreated(SurfaceHolder holder) {
+        renderThread = new RenderThread(holder);
+        renderThread.start();
+        frameListener = renderThread::requestFrame;
+        session.setFrameListener(frameListener);
+        Log.d("GameSurfaceView", "Surface created, render thread started.");
+    }
+
+    @Override
+    public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
+        if (renderThread != null) renderThread.setSize(width, height);
+    }
+
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        // the surface is gone once this returns, the thread must have stopped drawing on it
+        session.removeFrameListener(frameListener);
+        if (renderThread != null) {
+            renderThread.quit();
+            renderThread = null;
+        }
+        Log.d("GameSurfaceView", "Surface destroyed, render thread stopped.");
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        renderer.release();
+    }
+
+    // sleeps until a frame is requested, then draws the latest state. requests that arrive while
+    // a frame is drawn are merged into the next one
+    private final class RenderThread extends Thread {
+        private final SurfaceHolder holder;
+        private boolean frameRequested = true;
+        private boolean running = true;
+        private int width;
+        private int height;
+
+        RenderThread(SurfaceHolder holder) {
+            super("GameRender");
+            this.holder = holder;
+        }
+
+        synchronized void requestFrame() {
+            frameRequested = true;
+            notifyAll();
+        }
+
+        synchronized void setSize(int width, int height) {
+            this.width = width;
+            this.height = height;
+            requestFrame();
+        }
+
+        void quit() {
+            synchronized (this) {
+                running = false;
+                notifyAll();
+            }
+            boolean interrupted = false;
+            while (isAlive()) {
+                try {
+                    join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                int frameWidth;
+                int frameHeight;
+                synchronized (this) {
+                    while (running && (!frameRequested || width == 0)) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                    if (!running) return;
+                    frameRequested = false;
+                    frameWidth = width;
+                    frameHeight = height;
+                }
+                drawFrame(frameWidth, frameHeight);
+            }
+        }
+
+        private void drawFrame(int frameWidth, int frameHeight) {
+            Canvas canvas = holder.lockCanvas();
+            if (canvas == null) return;
+            long start = SystemClock.elapsedRealtimeNanos();
+            try {
+                canvas.drawColor(Color.BLACK); // a locked canvas keeps no earlier frame
+                session.draw(renderer, canvas, frameWidth, frameHeight);
+            } catch (Exception e) {
+                Log.e("GameSurfaceView", "Error during drawing: " + e.getMessage(), e);
+            } finally {
+                holder.unlockCanvasAndPost(canvas);
+            }
+            session.getRenderThreadDrawStats().add(SystemClock.elapsedRealtimeNanos() - start);
+        }
+    }
+}
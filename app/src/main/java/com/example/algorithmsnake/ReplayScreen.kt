@@ -0,0 +1,145 @@
+package com.example.algorithmsnake
+
+import androidx.compose.foundation.Image
+import androidx.compose.foundation.background
+import androidx.compose.foundation.layout.*
+import androidx.compose.material3.*
+import androidx.compose.runtime.*
+import androidx.compose.ui.Alignment
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.platform.LocalContext
+import androidx.compose.ui.res.painterResource
+import androidx.compose.ui.unit.dp
+import androidx.compose.ui.viewinterop.AndroidView
+import androidx.compose.ui.zIndex
+import androidx.constraintlayout.compose.ConstraintLayout
+import androidx.constraintlayout.compose.Dimension
+import androidx.navigation.NavHostController
+import com.example.algorithmsnake.R
+
+@Composable
+fun ReplayScreen(navController: NavHostController) {
+    val context = LocalContext.current
+    val replayFile = remember { GameSession.lastReplayFile(context) }
+    var replayViewInstance by remember { mutableStateOf<ReplayView?>(null) }
+    var tick by remember { mutableStateOf(0L) }
+    var lastTick by remember { mutableStateOf(0L) }
+    var playing by remember { mutableStateOf(false) }
+    var speed by remember { mutableStateOf(1f) }
+    val speeds = listOf(1f, 4f, 16f, 64f)
+
+    // rootcontainer
+    ConstraintLayout(
+        modifier = Modifier
+            .fillMaxSize()
+            .background(Color.Black)
+            .statusBarsPadding()
+    ) {
+        val (replayViewRef, controlsRef, exitButtonRef) = createRefs()
+
+        // ReplayView
+        AndroidView(
+            factory = { ctx ->
+                ReplayView(ctx, replayFile).also { view ->
+                    view.setTickListener { current, last ->
+                        tick = current
+                        lastTick = last
+                        if (current >= last) playing = false
+                    }
+                    lastTick = view.lastTick
+                    replayViewInstance = view
+                }
+            },
+            modifier = Modifier
+                .constrainAs(replayViewRef) {
+                    top.linkTo(parent.top)
+                    bottom.linkTo(controlsRef.top, margin = 16.dp)
+                    start.linkTo(parent.start)
+                    end.linkTo(parent.end)
+                    width = Dimension.fillToConstraints
+                    height = Dimension.fillToConstraints
+                }
+                .aspectRatio(1f),
+            onRelease = { view ->
+                view.release()
+                replayViewInstance = null
+            }
+        )
+
+        // exit button
+        Button(
+            onClick = {
+                replayViewInstance?.release()
+                replayViewInstance = null
+                navController.navigate(AppDestinations.MAIN_MENU_ROUTE) {
+                    popUpTo(AppDestinations.MAIN_MENU_ROUTE) { inclusive = true }
+                    launchSingleTop = true
+                }
+            },
+            modifier = Modifier
+                .zIndex(1f) // draw on top
+                .constrainAs(exitButtonRef) {
+                    top.linkTo(parent.top, margin = 16.dp)
+                    end.linkTo(parent.end, margin = 16.dp)
+                    width = Dimension.value(48.dp)
+                    height = Dimension.value(48.dp)
+                },
+            contentPadding = PaddingValues(0.dp),
+        ) {
+            Image(
+                painter = painterResource(id = R.drawable.cross_small),
+                contentDescription = "Exit Replay",
+                modifier = Modifier.size(32.dp)
+            )
+        }
+
+        // playback controls
+        Column(
+            modifier = Modifier
+                .constrainAs(controlsRef) {
+                    bottom.linkTo(parent.bottom, margin = 24.dp)
+                    start.linkTo(parent.start, margin = 16.dp)
+                    end.linkTo(parent.end, margin = 16.dp)
+                    width = Dimension.fillToConstraints
+                    height = Dimension.wrapContent
+                },
+            horizontalAlignment = Alignment.CenterHorizontally,
+            verticalArrangement = Arrangement.spacedBy(8.dp)
+        ) {
+            Text("Tick $tick / $lastTick", color = Color.White)
+            Slider(
+                value = tick.toFloat(),
+                onValueChange = { value ->
+                    replayViewInstance?.seekTo(value.toLong())
+                    tick = value.toLong()
+                },
+                valueRange = 0f..maxOf(1L, lastTick).toFloat(),
+                enabled = lastTick > 0
+            )
+            Row(horizontalArrangement = Arrangement.spacedBy(8.dp)) {
+                Button(onClick = {
+                    playing = !playing
+                    replayViewInstance?.setPlaying(playing)
+                    playing = replayViewInstance?.isPlaying ?: false
+                }, enabled = replayViewInstance?.isLoaded ?: false) {
+                    Text(if (playing) "Pause" else "Play")
+                }
+                speeds.forEach { option ->
+                    OutlinedButton(
+                        onClick = {
+                            speed = option
+                            replayViewInstance?.setSpeed(option)
+                        },
+                        contentPadding = PaddingValues(horizontal = 8.dp),
+                        colors = ButtonDefaults.outlinedButtonColors(
+                            contentColor = if (speed == option) Color.White else Color.Gray
+                        )
+                    ) {
+                        Text("${option.toInt()}x")
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.algorithmsnake;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.os.Handler;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import java.io.File;
+import java.io.IOException;
+
+// plays a KeyframeReplay at any speed. one frame is drawn per display tick, ticks in between are
+// decoded but not drawn, and jumps past a keyframe interval go through seek
+public class ReplayView extends View {
+    private static final int FRAME_MILLIS = 16;
+    private static final int DEFAULT_TICK_MILLIS = 55;
+
+    public interface TickListener {
+        void onTick(long tick, long lastTick);
+    }
+
+    private final GameRenderer renderer = new GameRenderer();
+    private final Handler handler = new Handler();
+    private KeyframeReplay replay;
+    private ReplayFrame frame;
+    private final RenderSnapshot snapshot = new RenderSnapshot(); // of the frame, drawn on this thread only
+    private int tickMillis = DEFAULT_TICK_MILLIS;
+    private float speed = 1f;
+    private boolean playing = false;
+    private double playbackTick = 0; // fractional tick the playback clock is at
+    private long lastFrameTime;
+    private TickListener tickListener;
+    private final Runnable frameRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (replay == null || !playing) return;
+            long now = SystemClock.uptimeMillis();
+            playbackTick += (now - lastFrameTime) * speed / tickMillis;
+            lastFrameTime = now;
+            showTick((long) playbackTick);
+            if (frame.getTick() >= replay.getLastTick()) {
+                playing = false;
+                return;
+            }
+            handler.postDelayed(this, FRAME_MILLIS);
+        }
+    };
+
+    public ReplayView(Context context, File file) {
+        super(context);
+        try {
+            replay = KeyframeReplay.open(file);
+            frame = replay.newFrame();
+            if (replay.getTickMillis() > 0) tickMillis = replay.getTickMillis();
+            replay.seek(frame, 0);
+            captureFrame();
+        } catch (IOException | RuntimeException e) {
+            Log.e("ReplayView", "Could not open replay " + file, e);
+            replay = null;
+            frame = null;
+        }
+    }
+
+    public boolean isLoaded() {
+        return replay != null;
+    }
+
+    public long getTick() {
+        return frame == null ? 0 : frame.getTick();
+    }
+
+    public long getLastTick() {
+        return replay == null ? 0 : replay.getLastTick();
+    }
+
+    public void setTickListener(TickListener listener) {
+        this.tickListener = listener;
+    }
+
+    // playback speed as a multiple of the recorded game speed
+    public void setSpeed(float speed) {
+        this.speed = Math.max(0.1f, speed);
+    }
+
+    public void setPlaying(boolean playing) {
+        if (replay == null || this.playing == playing) return;
+        this.playing = playing;
+        handler.removeCallbacks(frameRunnable);
+        if (playing) {
+            if (frame.getTick() >= replay.getLastTick()) seekTo(0);
+            lastFrameTime = SystemClock.uptimeMillis();
+            handler.postDelayed(frameRunnable, FRAME_MILLIS);
+        }
+    }
+
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    public void seekTo(long tick) {
+        if (replay == null) return;
+        playbackTick = Math.max(0, Math.min(tick, replay.getLastTick()));
+        showTick((long) playbackTick);
+    }
+
+    // brings the frame to the tick: advance for short steps forward, seek for anything else
+    private void showTick(long tick) {
+        tick = Math.max(0, Math.min(tick, replay.getLastTick()));
+        long current = frame.getTick();
+        if (tick == current) return;
+        if (tick < current || tick - current > replay.getKeyframeInterval()) {
+            replay.seek(frame, tick);
+        } else {
+            while (frame.getTick() < tick && replay.advance(frame)) {
+                // intermediate ticks are skipped when drawing
+            }
+        }
+        captureFrame();
+        invalidate();
+        if (tickListener != null) tickListener.onTick(frame.getTick(), replay.getLastTick());
+    }
+
+    private void captureFrame() {
+        snapshot.capture(replay.getArenaSize(), frame.getTick(), frame.getSnakes(), frame.getEatable(), frame.isGameOver());
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        if (canvas == null) return;
+        try {
+            if (frame == null) {
+                renderer.draw(canvas, getWidth(), getHeight(), GameEngine.GRID_WIDTH, null, -1);
+                return;
+            }
+            // the camera follows the first snake alive, the player if there was one
+            int focus = snapshot.getSnakeCount() > 0 ? 0 : -1;
+            renderer.draw(canvas, getWidth(), getHeight(), replay.getArenaSize(), snapshot, focus);
+        } catch (Exception e) {
+            Log.e("ReplayView", "Error during drawing: " + e.getMessage(), e);
+        }
+    }
+
+    public void release() {
+        playing = false;
+        handler.removeCallbacks(frameRunnable);
+        replay = null;
+        frame = null;
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        release();
+        renderer.release();
+    }
+}
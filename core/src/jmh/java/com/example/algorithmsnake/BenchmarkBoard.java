@@ -0,0 +1,90 @@
+package com.example.algorithmsnake;
+import java.util.ArrayList;
+import java.util.List;
+
+// generated board states for the benchmarks: one searcher in the top left corner, the other snakes
+// as obstacles and the eatable near the opposite corner. a board of size n uses the positions
+// 1..n-2 like the 100x100 game grid
+final class BenchmarkBoard {
+    final int minPos = 1;
+    final int maxPos;
+    final List<Snake> snakes = new ArrayList<>();
+    final Snake searcher;
+    final Eatable eatable = new Eatable();
+    final OccupancyGrid occupancy;
+
+    BenchmarkBoard(String kind, int size) {
+        maxPos = size - 2;
+        searcher = new Snake(new Point(2, 2), GameEngine.COLOR_GREEN, Snake.PathAlgorithm.ASTAR, true, true);
+        snakes.add(searcher);
+        eatable.position = new Point(maxPos - 3, maxPos - 3);
+        switch (kind) {
+            case "empty":
+                break;
+            case "longSnakes":
+                addLongSnakes();
+                break;
+            case "maze":
+                addMaze();
+                break;
+            case "unreachable":
+                addBox(eatable.position);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown board kind " + kind);
+        }
+        occupancy = new OccupancyGrid(minPos, maxPos, true);
+        occupancy.rebuild(snakes);
+    }
+
+    // four snakes winding through horizontal bands, together they cover about a third of the board
+    private void addLongSnakes() {
+        int band = maxPos / 4;
+        for (int i = 0; i < 4; i++) {
+            List<Point> body = new ArrayList<>();
+            boolean leftToRight = true;
+            for (int y = 5 + i * band; y < (i + 1) * band - 1; y += 3) {
+                for (int step = 0; step <= maxPos - 10; step++) {
+                    body.add(new Point(leftToRight ? 5 + step : maxPos - 5 - step, y));
+                }
+                leftToRight = !leftToRight;
+            }
+            addObstacle(body);
+        }
+    }
+
+    // walls every 4th row with the gap alternating between the right and left edge
+    private void addMaze() {
+        boolean gapRight = true;
+        for (int y = 4; y < maxPos - 4; y += 4) {
+            List<Point> wall = new ArrayList<>();
+            int from = gapRight ? 1 : 2;
+            int to = gapRight ? maxPos - 1 : maxPos;
+            for (int x = from; x <= to; x++) {
+                wall.add(new Point(x, y));
+            }
+            addObstacle(wall);
+            gapRight = !gapRight;
+        }
+    }
+
+    // closed ring of body cells around the eatable
+    private void addBox(Point center) {
+        List<Point> ring = new ArrayList<>();
+        for (int x = center.x - 2; x <= center.x + 2; x++) {
+            for (int y = center.y - 2; y <= center.y + 2; y++) {
+                if (x == center.x - 2 || x == center.x + 2 || y == center.y - 2 || y == center.y + 2) {
+                    ring.add(new Point(x, y));
+                }
+            }
+        }
+        addObstacle(ring);
+    }
+
+    private void addObstacle(List<Point> body) {
+        if (body.isEmpty()) return;
+        Snake obstacle = new Snake(body.get(0), GameEngine.COLOR_RED, Snake.PathAlgorithm.BFS, true, true);
+        obstacle.body.reset(body);
+        snakes.add(obstacle);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.algorithmsnake;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// throughput of one GameEngine.update() tick of the default AI-only game, a finished game is
+// replaced by a fresh one inside the next tick
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameTickBenchmark {
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    public GameEngine.PathfindingMode mode;
+
+    private GameEngine engine;
+
+    @Setup(Level.Iteration)
+    public void newGame() {
+        if (engine != null) engine.shutdown();
+        engine = newEngine();
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public long tick() {
+        // checked here, a Level.Invocation setup adds its own timing overhead to every tick
+        if (engine.isGameOver()) {
+            engine.shutdown();
+            engine = newEngine();
+        }
+        engine.update();
+        return engine.getTickCount();
+    }
+
+    private GameEngine newEngine() {
+        GameEngine game = new GameEngine(false, 55);
+        game.setPathfindingMode(mode);
+        return game;
+    }
+}
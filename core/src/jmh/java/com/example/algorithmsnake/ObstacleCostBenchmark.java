@@ -0,0 +1,64 @@
+package com.example.algorithmsnake;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// cost of the obstacle lookup inside A*, BFS and Dijkstra on the longSnakes board: the old scan
+// over every body list against the per-tick OccupancyGrid. the scan is O(body cells) per check,
+// so only the default arena size is measured
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObstacleCostBenchmark {
+    @Param({"bodyScan", "occupancyGrid"})
+    public String obstacles;
+
+    private BenchmarkBoard state;
+    private final List<List<Point>> bodies = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        state = new BenchmarkBoard("longSnakes", GameEngine.GRID_WIDTH);
+        for (Snake snake : state.snakes) {
+            bodies.add(snake.body);
+        }
+    }
+
+    @Benchmark
+    public List<Point> aStar() {
+        if (obstacles.equals("bodyScan")) {
+            return Pathfinder.aStar(state.searcher, state.eatable, bodies, true, state.minPos, state.maxPos);
+        }
+        return Pathfinder.aStar(state.searcher, state.eatable, state.occupancy, true, state.minPos, state.maxPos);
+    }
+
+    @Benchmark
+    public List<Point> bfs() {
+        if (obstacles.equals("bodyScan")) {
+            return Pathfinder.bfs(state.searcher, state.eatable, bodies, true, state.minPos, state.maxPos);
+        }
+        return Pathfinder.bfs(state.searcher, state.eatable, state.occupancy, true, state.minPos, state.maxPos);
+    }
+
+    @Benchmark
+    public List<Point> dijkstra() {
+        if (obstacles.equals("bodyScan")) {
+            return Pathfinder.dijkstra(state.searcher, state.eatable, bodies, true, state.minPos, state.maxPos);
+        }
+        return Pathfinder.dijkstra(state.searcher, state.eatable, state.occupancy, true, state.minPos, state.maxPos);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.algorithmsnake;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// throughput of the unbudgeted A*, BFS and Dijkstra searches and of Eatable.spawn on every generated board
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfinderBenchmark {
+    @Param({"empty", "longSnakes", "maze", "unreachable"})
+    public String board;
+
+    @Param({"100", "300", "1000"})
+    public int size;
+
+    private BenchmarkBoard state;
+    private final Eatable spawned = new Eatable();
+
+    @Setup
+    public void setUp() {
+        state = new BenchmarkBoard(board, size);
+    }
+
+    @Benchmark
+    public List<Point> aStar() {
+        return Pathfinder.aStar(state.searcher, state.eatable, state.occupancy, true, state.minPos, state.maxPos);
+    }
+
+    @Benchmark
+    public List<Point> bfs() {
+        return Pathfinder.bfs(state.searcher, state.eatable, state.occupancy, true, state.minPos, state.maxPos);
+    }
+
+    @Benchmark
+    public List<Point> dijkstra() {
+        return Pathfinder.dijkstra(state.searcher, state.eatable, state.occupancy, true, state.minPos, state.maxPos);
+    }
+
+    @Benchmark
+    public Point eatableSpawn() {
+        spawned.spawn(state.occupancy);
+        return spawned.position;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.algorithmsnake;
+import java.util.concurrent.atomic.AtomicLong;
+
+// metrics of all recorded searches of one Snake.PathAlgorithm
+public final class AlgorithmMetrics {
+    private final Snake.PathAlgorithm algorithm;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong found = new AtomicLong();
+    private final AtomicLong partial = new AtomicLong();
+    private final Histogram expanded = new Histogram();
+    private final Histogram enqueued = new Histogram();
+    private final Histogram peakQueue = new Histogram();
+    private final Histogram pathLength = new Histogram();
+    private final Histogram wallTimeNanos = new Histogram();
+
+    AlgorithmMetrics(Snake.PathAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    void record(SearchStats stats, int length, long nanos, boolean pathFound) {
+        calls.incrementAndGet();
+        if (pathFound) found.incrementAndGet();
+        if (stats.isPartial()) partial.incrementAndGet();
+        expanded.record(stats.getExpanded());
+        enqueued.record(stats.getEnqueued());
+        peakQueue.record(stats.getPeakQueue());
+        pathLength.record(length);
+        wallTimeNanos.record(nanos);
+    }
+
+    void reset() {
+        calls.set(0);
+        found.set(0);
+        partial.set(0);
+        expanded.reset();
+        enqueued.reset();
+        peakQueue.reset();
+        pathLength.reset();
+        wallTimeNanos.reset();
+    }
+
+    public Snake.PathAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    // calls that returned a complete path to the eatable
+    public long getFound() {
+        return found.get();
+    }
+
+    // budgeted calls that returned a path stopping short of the eatable
+    public long getPartial() {
+        return partial.get();
+    }
+
+    public Histogram getExpanded() {
+        return expanded;
+    }
+
+    public Histogram getEnqueued() {
+        return enqueued;
+    }
+
+    public Histogram getPeakQueue() {
+        return peakQueue;
+    }
+
+    public Histogram getPathLength() {
+        return pathLength;
+    }
+
+    public Histogram getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return algorithm + ": calls=" + getCalls() + ", found=" + getFound() + ", partial=" + getPartial()
+                + ", expanded avg=" + Math.round(expanded.getMean()) + " p95=" + expanded.getPercentile(95)
+                + ", enqueued avg=" + Math.round(enqueued.getMean())
+                + ", peak queue max=" + peakQueue.getMax()
+                + ", path avg=" + Math.round(pathLength.getMean())
+                + ", time avg=" + Math.round(wallTimeNanos.getMean() / 1000) + "us p95=" + wallTimeNanos.getPercentile(95) / 1000 + "us";
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.algorithmsnake;
+import java.util.List;
+
+// obstacle lookup that scans every body list, O(total body length) per check.
+// kept for the List based Pathfinder overloads and to compare against OccupancyGrid
+class BodyListObstacles implements ObstacleMap {
+    private final List<List<Point>> bodies;
+
+    BodyListObstacles(List<List<Point>> bodies) {
+        this.bodies = bodies;
+    }
+
+    @Override
+    public boolean isBlocked(int x, int y, Snake snake) {
+        for (List<Point> body : bodies) {
+            // tail is no obstacle because moves
+            int checked = body == snake.body ? body.size() - 1 : body.size();
+            for (int i = 0; i < checked; i++) {
+                Point p = body.get(i);
+                if (p.x == x && p.y == y) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
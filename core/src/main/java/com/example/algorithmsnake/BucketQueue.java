@@ -0,0 +1,122 @@
+package com.example.algorithmsnake;
+import java.util.Arrays;
+
+// circular bucket (Dial) queue for small non-negative int priorities, push and pop are O(1).
+// pops have to come out in non-decreasing order, which holds for Dijkstra and for A* with a
+// consistent heuristic. the ring grows when the spread between the smallest and largest queued
+// priority exceeds it, so weighted edges (costs above 1) work as well.
+// each bucket is a LIFO stack: among nodes with equal f the most recently pushed, deepest one
+// is expanded first, which keeps A* headed straight for the target on open ground
+final class BucketQueue {
+    private int[] bucketTop = new int[64]; // top entry of every bucket, -1 if empty
+    private int mask = 63;
+
+    // entry pool, next links entries of one bucket or the free list
+    private int[] entryCell = new int[256];
+    private int[] entryPriority = new int[256];
+    private int[] entryNext = new int[256];
+    private int entryCount = 0;
+    private int freeEntry = -1;
+
+    private int size = 0;
+    private int current = 0; // no entry has a smaller priority
+    private int maxPriority = 0;
+    private int lastPriority = 0;
+
+    BucketQueue() {
+        Arrays.fill(bucketTop, -1);
+    }
+
+    void clear() {
+        Arrays.fill(bucketTop, -1);
+        entryCount = 0;
+        freeEntry = -1;
+        size = 0;
+        current = 0;
+        maxPriority = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void push(int priority, int cell) {
+        if (size == 0) {
+            current = priority;
+            maxPriority = priority;
+        } else {
+            if (priority < current) current = priority;
+            if (priority > maxPriority) maxPriority = priority;
+        }
+        if (maxPriority - current > mask) {
+            grow(maxPriority - current + 1);
+        }
+        int e = newEntry();
+        entryCell[e] = cell;
+        entryPriority[e] = priority;
+        int bucket = priority & mask;
+        entryNext[e] = bucketTop[bucket];
+        bucketTop[bucket] = e;
+        size++;
+    }
+
+    // removes an entry with the smallest priority and returns its cell, see lastPriority()
+    int pop() {
+        while (bucketTop[current & mask] == -1) {
+            current++;
+        }
+        int bucket = current & mask;
+        int e = bucketTop[bucket];
+        bucketTop[bucket] = entryNext[e];
+        entryNext[e] = freeEntry;
+        freeEntry = e;
+        size--;
+        lastPriority = entryPriority[e];
+        return entryCell[e];
+    }
+
+    // priority of the entry returned by the last pop()
+    int lastPriority() {
+        return lastPriority;
+    }
+
+    private int newEntry() {
+        if (freeEntry != -1) {
+            int e = freeEntry;
+            freeEntry = entryNext[e];
+            return e;
+        }
+        if (entryCount == entryCell.length) {
+            int capacity = entryCount * 2;
+            entryCell = Arrays.copyOf(entryCell, capacity);
+            entryPriority = Arrays.copyOf(entryPriority, capacity);
+            entryNext = Arrays.copyOf(entryNext, capacity);
+        }
+        return entryCount++;
+    }
+
+    // resizes the ring to hold the given spread of priorities and moves every entry over
+    private void grow(int spread) {
+        int buckets = bucketTop.length;
+        while (buckets < spread) buckets *= 2;
+        int[] oldTop = bucketTop;
+        bucketTop = new int[buckets];
+        Arrays.fill(bucketTop, -1);
+        mask = buckets - 1;
+        for (int top : oldTop) {
+            // moving a stack reverses it, that only reorders entries of equal priority
+            int e = top;
+            while (e != -1) {
+                int next = entryNext[e];
+                int bucket = entryPriority[e] & mask;
+                entryNext[e] = bucketTop[bucket];
+                bucketTop[bucket] = e;
+                e = next;
+            }
+        }
+    }
+}
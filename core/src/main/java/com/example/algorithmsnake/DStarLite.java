@@ -0,0 +1,289 @@
+package com.example.algorithmsnake;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// D* Lite search state kept on a snake between ticks (Koenig and Likhachev).
+// it searches backwards from the eatable, so when the head moves only km grows and when the
+// board changes only the cells from the occupancy change log and the snake's own old and new
+// head and tail cells are repaired. a new eatable position starts a fresh search
+public final class DStarLite {
+    private static final int INF = 1 << 28;
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 1, -1};
+
+    private final int minPos;
+    private final int maxPos;
+    private final int width;
+    private final int[] g;
+    private final int[] rhs;
+    private final long[] queuedKey; // key the cell is queued with, -1 if it is not queued
+
+    // binary heap of (key, cell), entries whose key no longer matches queuedKey are stale
+    private long[] heapKeys = new long[256];
+    private int[] heapCells = new int[256];
+    private int heapSize = 0;
+
+    private int goalCell = -1;
+    private int startCell = -1;
+    private int tailCell = -1;
+    private int km = 0;
+    private long seenChanges = -1;
+
+    private Snake snake;
+    private OccupancyGrid occupancy;
+    private SearchStats stats;
+
+    DStarLite(int minPos, int maxPos) {
+        this.minPos = minPos;
+        this.maxPos = maxPos;
+        this.width = maxPos - minPos + 1;
+        this.g = new int[width * width];
+        this.rhs = new int[width * width];
+        this.queuedKey = new long[width * width];
+    }
+
+    boolean covers(int minPos, int maxPos) {
+        return this.minPos == minPos && this.maxPos == maxPos;
+    }
+
+    List<Point> plan(Snake snake, Point goal, OccupancyGrid occupancy, SearchStats stats) {
+        this.snake = snake;
+        this.occupancy = occupancy;
+        this.stats = stats;
+        int newStart = cellOf(snake.body.headX(), snake.body.headY());
+        int newGoal = cellOf(goal.x, goal.y);
+        int tailX = snake.body.tailX();
+        int tailY = snake.body.tailY();
+        int newTail = contains(tailX, tailY) ? cellOf(tailX, tailY) : -1;
+
+        if (newGoal != goalCell || !occupancy.hasChangesSince(seenChanges)) {
+            reset(newStart, newGoal);
+        } else {
+            int oldStart = startCell;
+            int oldTail = tailCell;
+            km += distance(oldStart, newStart);
+            startCell = newStart;
+            tailCell = newTail;
+            for (long i = seenChanges; i < occupancy.getChangeCount(); i++) {
+                updateAround(occupancy.getChangedCell(i));
+            }
+            // the own head and tail change passability without touching the grid counts
+            updateAround(oldStart);
+            updateAround(newStart);
+            updateAround(oldTail);
+            updateAround(newTail);
+        }
+        tailCell = newTail;
+        seenChanges = occupancy.getChangeCount();
+        computeShortestPath();
+        List<Point> path = extractPath();
+        this.snake = null;
+        this.occupancy = null;
+        this.stats = null;
+        return path;
+    }
+
+    private void reset(int start, int goal) {
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        Arrays.fill(queuedKey, -1);
+        heapSize = 0;
+        km = 0;
+        startCell = start;
+        goalCell = goal;
+        rhs[goal] = 0;
+        insert(goal, key(goal));
+    }
+
+    private void computeShortestPath() {
+        while (true) {
+            long top = topKey();
+            if (top == Long.MAX_VALUE || (top >= key(startCell) && rhs[startCell] == g[startCell])) {
+                return;
+            }
+            int u = heapCells[0];
+            popTop();
+            queuedKey[u] = -1;
+            stats.onExpand();
+            long newKey = key(u);
+            if (top < newKey) {
+                insert(u, newKey);
+            } else if (g[u] > rhs[u]) {
+                g[u] = rhs[u];
+                updateNeighbors(u);
+            } else {
+                g[u] = INF;
+                updateVertex(u);
+                updateNeighbors(u);
+            }
+        }
+    }
+
+    // follows the smallest g downhill from the head, the start cell itself is not part of the path
+    private List<Point> extractPath() {
+        List<Point> path = new ArrayList<>();
+        if (g[startCell] >= INF) {
+            return path;
+        }
+        int current = startCell;
+        while (current != goalCell && path.size() < g.length) {
+            int best = -1;
+            int bestG = INF;
+            int cx = current % width + minPos;
+            int cy = current / width + minPos;
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (!contains(nx, ny)) continue;
+                int n = cellOf(nx, ny);
+                if (g[n] < bestG && !isBlocked(n)) {
+                    bestG = g[n];
+                    best = n;
+                }
+            }
+            if (best == -1) {
+                return new ArrayList<>();
+            }
+            path.add(new Point(best % width + minPos, best / width + minPos));
+            current = best;
+        }
+        return path;
+    }
+
+    private void updateAround(int cell) {
+        if (cell < 0) return;
+        updateVertex(cell);
+        updateNeighbors(cell);
+    }
+
+    private void updateNeighbors(int cell) {
+        int cx = cell % width + minPos;
+        int cy = cell / width + minPos;
+        for (int d = 0; d < 4; d++) {
+            int nx = cx + DX[d];
+            int ny = cy + DY[d];
+            if (contains(nx, ny)) {
+                updateVertex(cellOf(nx, ny));
+            }
+        }
+    }
+
+    private void updateVertex(int u) {
+        if (u != goalCell) {
+            rhs[u] = lookahead(u);
+        }
+        queuedKey[u] = -1;
+        if (g[u] != rhs[u]) {
+            insert(u, key(u));
+        }
+    }
+
+    // one step lookahead: 1 + smallest g of a passable neighbor
+    private int lookahead(int u) {
+        if (isBlocked(u)) return INF;
+        int best = INF;
+        int cx = u % width + minPos;
+        int cy = u / width + minPos;
+        for (int d = 0; d < 4; d++) {
+            int nx = cx + DX[d];
+            int ny = cy + DY[d];
+            if (!contains(nx, ny)) continue;
+            int n = cellOf(nx, ny);
+            if (g[n] < INF && g[n] + 1 < best && !isBlocked(n)) {
+                best = g[n] + 1;
+            }
+        }
+        return best;
+    }
+
+    // the head has to stay enterable for the backward search
+    private boolean isBlocked(int cell) {
+        return cell != startCell && occupancy.isBlocked(cell % width + minPos, cell / width + minPos, snake);
+    }
+
+    // [min(g, rhs) + h + km ; min(g, rhs)] packed into one long so keys compare as numbers
+    private long key(int cell) {
+        int m = Math.min(g[cell], rhs[cell]);
+        long k1 = (long) m + distance(startCell, cell) + km;
+        return (k1 << 32) | m;
+    }
+
+    private int distance(int a, int b) {
+        return Math.abs(a % width - b % width) + Math.abs(a / width - b / width);
+    }
+
+    private void insert(int cell, long key) {
+        queuedKey[cell] = key;
+        if (heapSize > 4 * g.length) {
+            compactHeap();
+        }
+        if (heapSize == heapKeys.length) {
+            heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+            heapCells = Arrays.copyOf(heapCells, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heapKeys[p] <= key) break;
+            heapKeys[i] = heapKeys[p];
+            heapCells[i] = heapCells[p];
+            i = p;
+        }
+        heapKeys[i] = key;
+        heapCells[i] = cell;
+        stats.onEnqueue(heapSize);
+    }
+
+    // smallest valid key, stale entries on top are dropped on the way
+    private long topKey() {
+        while (heapSize > 0 && queuedKey[heapCells[0]] != heapKeys[0]) {
+            popTop();
+        }
+        return heapSize == 0 ? Long.MAX_VALUE : heapKeys[0];
+    }
+
+    private void popTop() {
+        long lastKey = heapKeys[--heapSize];
+        int lastCell = heapCells[heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int c = 2 * i + 1;
+            if (c + 1 < heapSize && heapKeys[c + 1] < heapKeys[c]) c++;
+            if (lastKey <= heapKeys[c]) break;
+            heapKeys[i] = heapKeys[c];
+            heapCells[i] = heapCells[c];
+            i = c;
+        }
+        heapKeys[i] = lastKey;
+        heapCells[i] = lastCell;
+    }
+
+    // drops stale entries once they pile up during a long game
+    private void compactHeap() {
+        heapSize = 0;
+        for (int cell = 0; cell < queuedKey.length; cell++) {
+            long key = queuedKey[cell];
+            if (key == -1) continue;
+            int i = heapSize++;
+            while (i > 0) {
+                int p = (i - 1) >>> 1;
+                if (heapKeys[p] <= key) break;
+                heapKeys[i] = heapKeys[p];
+                heapCells[i] = heapCells[p];
+                i = p;
+            }
+            heapKeys[i] = key;
+            heapCells[i] = cell;
+        }
+    }
+
+    private boolean contains(int x, int y) {
+        return x >= minPos && x <= maxPos && y >= minPos && y <= maxPos;
+    }
+
+    private int cellOf(int x, int y) {
+        return (y - minPos) * width + (x - minPos);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.algorithmsnake;
+import java.util.Random;
+
+// class for eatable object
+public class Eatable {
+    public Point position;
+    private final Random random;
+
+    public Eatable() {
+        this(new Random());
+    }
+
+    // spawns drawn from the given generator, a seeded one makes them repeatable
+    public Eatable(Random random) {
+        this.random = random;
+    }
+
+    // moves the eatable to a uniformly drawn free cell of the grid, which has to track free cells.
+    // false if the board is full, the position is then (-1, -1)
+    public boolean spawn(OccupancyGrid occupancy) {
+        Point cell = occupancy.randomFreeCell(random);
+        if (cell == null) {
+            GameLog.w("EatableSpawn", "Could not spawn eatable, no free cell left.");
+            position = new Point(-1, -1);
+            return false;
+        }
+        position = cell;
+        GameLog.d("EatableSpawn", "Eatable spawned at (" + position.x + "," + position.y + ") with " + occupancy.getFreeCellCount() + " free cells.");
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.algorithmsnake;
+
+// clock for a fixed tick rate whatever the rate it is polled at: elapsed time goes into an
+// accumulator and every full step in it is one tick due. a poll runs at most maxCatchUp ticks,
+// a backlog beyond that is dropped and counted so a slow stretch cannot snowball into ever longer
+// catch-ups. times are monotonic nanoseconds, e.g. System.nanoTime() or a vsync timestamp
+public final class FixedTimestep {
+    private final long stepNanos;
+    private final int maxCatchUp;
+    private long lastNanos;
+    private long accumulatorNanos = 0;
+    private long droppedSteps = 0;
+    private boolean started = false;
+
+    public FixedTimestep(long stepNanos, int maxCatchUp) {
+        if (stepNanos <= 0) throw new IllegalArgumentException("Step must be positive: " + stepNanos);
+        if (maxCatchUp < 1) throw new IllegalArgumentException("At least one step per poll: " + maxCatchUp);
+        this.stepNanos = stepNanos;
+        this.maxCatchUp = maxCatchUp;
+    }
+
+    // time zero, the first tick is due one step later
+    public void start(long nowNanos) {
+        lastNanos = nowNanos;
+        accumulatorNanos = 0;
+        started = true;
+    }
+
+    // ticks to run now, between 0 and maxCatchUp
+    public int advance(long nowNanos) {
+        if (!started) start(nowNanos);
+        if (nowNanos > lastNanos) { // a timestamp from before the last one adds nothing
+            accumulatorNanos += nowNanos - lastNanos;
+            lastNanos = nowNanos;
+        }
+        long due = accumulatorNanos / stepNanos;
+        if (due <= maxCatchUp) {
+            accumulatorNanos -= due * stepNanos;
+            return (int) due;
+        }
+        droppedSteps += due - maxCatchUp;
+        accumulatorNanos %= stepNanos;
+        return maxCatchUp;
+    }
+
+    // time until the next tick is due
+    public long nanosUntilNextStep() {
+        return stepNanos - accumulatorNanos;
+    }
+
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    // steps skipped because the backlog outgrew maxCatchUp, since creation
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+}
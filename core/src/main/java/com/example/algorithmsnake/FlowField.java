@@ -0,0 +1,124 @@
+package com.example.algorithmsnake;
+import java.util.Arrays;
+import java.util.List;
+
+// distance to the eatable for every cell, filled by one reverse bfs from the eatable.
+// all FLOW_FIELD snakes share it and pick their next step by moving downhill, so the
+// pathfinding cost per tick does not grow with the number of snakes
+public class FlowField {
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 1, -1};
+    private static final int UNREACHABLE = -1;
+
+    private final int minPos;
+    private final int maxPos;
+    private final int width;
+    private final int[] distance;
+    private final int[] queue;
+    private final boolean[] tailCell;
+    private Point target;
+    private long computedTick = -1;
+
+    public FlowField(int minPos, int maxPos) {
+        this.minPos = minPos;
+        this.maxPos = maxPos;
+        this.width = maxPos - minPos + 1;
+        this.distance = new int[width * width];
+        this.queue = new int[width * width];
+        this.tailCell = new boolean[width * width];
+    }
+
+    // true if the field was computed for this tick and target and can be used as is
+    public boolean isCurrent(long tick, Point currentTarget) {
+        return computedTick == tick && target != null && target.equals(currentTarget);
+    }
+
+    // body cells are walls, tails are not since they move on before anyone can get there
+    public void compute(Point newTarget, OccupancyGrid occupancy, List<Snake> snakes, long tick) {
+        Arrays.fill(distance, UNREACHABLE);
+        computedTick = tick;
+        target = newTarget == null ? null : new Point(newTarget.x, newTarget.y);
+        if (!contains(newTarget)) return;
+
+        for (Snake snake : snakes) {
+            if (snake != null && snake.body != null && !snake.body.isEmpty()) {
+                int tx = snake.body.tailX();
+                int ty = snake.body.tailY();
+                if (contains(tx, ty)) tailCell[cellOf(tx, ty)] = true;
+            }
+        }
+        SearchStats stats = SearchStats.current(); // counts towards the search of the snake that asked for the field
+        int head = 0;
+        int tail = 0;
+        int start = cellOf(newTarget.x, newTarget.y);
+        distance[start] = 0;
+        queue[tail++] = start;
+        stats.onEnqueue(1);
+        while (head < tail) {
+            int current = queue[head++];
+            stats.onExpand();
+            int cx = current % width + minPos;
+            int cy = current / width + minPos;
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (nx < minPos || nx > maxPos || ny < minPos || ny > maxPos) {
+                    continue;
+                }
+                int neighbor = cellOf(nx, ny);
+                if (distance[neighbor] != UNREACHABLE) {
+                    continue;
+                }
+                if (occupancy.isOccupied(nx, ny) && !tailCell[neighbor]) {
+                    continue;
+                }
+                distance[neighbor] = distance[current] + 1;
+                queue[tail++] = neighbor;
+                stats.onEnqueue(tail - head);
+            }
+        }
+        for (Snake snake : snakes) {
+            if (snake != null && snake.body != null && !snake.body.isEmpty()) {
+                int tx = snake.body.tailX();
+                int ty = snake.body.tailY();
+                if (contains(tx, ty)) tailCell[cellOf(tx, ty)] = false;
+            }
+        }
+    }
+
+    public int getDistance(int x, int y) {
+        if (x < minPos || x > maxPos || y < minPos || y > maxPos) return UNREACHABLE;
+        return distance[cellOf(x, y)];
+    }
+
+    // the free neighbor of the head closest to the target, null if none of them can reach it
+    public Point nextStep(Snake snake, OccupancyGrid occupancy) {
+        Point head = snake.getHead();
+        int bestDistance = Integer.MAX_VALUE;
+        int bestDir = -1;
+        for (int d = 0; d < 4; d++) {
+            int nx = head.x + DX[d];
+            int ny = head.y + DY[d];
+            int dist = getDistance(nx, ny);
+            if (dist == UNREACHABLE || dist >= bestDistance || occupancy.isBlocked(nx, ny, snake)) {
+                continue;
+            }
+            bestDistance = dist;
+            bestDir = d;
+        }
+        if (bestDir == -1) return null;
+        return new Point(head.x + DX[bestDir], head.y + DY[bestDir]);
+    }
+
+    private boolean contains(Point p) {
+        return p != null && contains(p.x, p.y);
+    }
+
+    private boolean contains(int x, int y) {
+        return x >= minPos && x <= maxPos && y >= minPos && y <= maxPos;
+    }
+
+    private int cellOf(int x, int y) {
+        return (y - minPos) * width + (x - minPos);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.algorithmsnake;
+import java.util.Random;
+
+// indexed set of free cells: the free cell indices packed at the front of a dense array plus the
+// slot of every cell in it, so add, remove (swap with the last) and a uniform pick are all O(1)
+final class FreeCellSet {
+    private final int[] cells; // the first size entries are the free cells, in no particular order
+    private final int[] slotOf; // slot of each cell in cells, -1 if the cell is not free
+    private int size;
+
+    FreeCellSet(int cellCount) {
+        cells = new int[cellCount];
+        slotOf = new int[cellCount];
+        fill();
+    }
+
+    // every cell free
+    void fill() {
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = cell;
+            slotOf[cell] = cell;
+        }
+        size = cells.length;
+    }
+
+    void add(int cell) {
+        if (slotOf[cell] >= 0) return;
+        cells[size] = cell;
+        slotOf[cell] = size;
+        size++;
+    }
+
+    void remove(int cell) {
+        int slot = slotOf[cell];
+        if (slot < 0) return;
+        int last = cells[--size];
+        cells[slot] = last;
+        slotOf[last] = slot;
+        slotOf[cell] = -1;
+    }
+
+    boolean contains(int cell) {
+        return slotOf[cell] >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // a uniformly drawn free cell, -1 if there is none
+    int random(Random random) {
+        return size == 0 ? -1 : cells[random.nextInt(size)];
+    }
+
+    void copyFrom(FreeCellSet other) {
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        System.arraycopy(other.slotOf, 0, slotOf, 0, slotOf.length);
+        size = other.size;
+    }
+}
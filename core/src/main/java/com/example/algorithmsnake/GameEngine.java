@@ -0,0 +1,570 @@
+package com.example.algorithmsnake;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// game rules: snakes, eatable, ai planning, movement and collisions. one update() call is one tick,
+// the app drives it from its game loop and draws the state, headless runs call it in a loop
+public class GameEngine {
+    // SEQUENTIAL plans each AI snake right before it moves, so it sees the moves made earlier in the tick.
+    // PARALLEL plans all AI snakes at once on a worker pool against a copy of the board taken at the
+    // start of the tick, the moves are then applied in list order and still checked with willCollide
+    public enum PathfindingMode { SEQUENTIAL, PARALLEL }
+
+    // the default arena, the walls are the outer ring of cells so snakes move on MIN_POS..MAX_POS
+    public static final int GRID_WIDTH = 100;
+    public static final int GRID_HEIGHT = 100;
+    public static final int MIN_POS = 1;
+    public static final int MAX_POS = 98;
+    // square arenas of any size in between work, SnakeBody packs coordinates into 16 bits
+    public static final int MIN_ARENA_SIZE = 30;
+    public static final int MAX_ARENA_SIZE = 4096;
+    // ARGB values of the matching android.graphics.Color constants
+    public static final int COLOR_GREEN = 0xFF00FF00;
+    public static final int COLOR_RED = 0xFFFF0000;
+    public static final int COLOR_YELLOW = 0xFFFFFF00;
+    public static final int COLOR_MAGENTA = 0xFFFF00FF;
+    private static final int PLAN_CHECK_STEPS = 4; // steps of a kept path re-validated each tick
+    private static final int SEARCH_TICK_DIVISOR = 2; // the AI searches of one tick may use up to half of it
+    private List<Snake> snakes;
+    private Eatable eatable;
+    private final int arenaSize;
+    private final int minPos;
+    private final int maxPos;
+    private final OccupancyGrid occupancy; // body cells, kept in step with every move
+    private final OwnerGrid owners; // snake and segment on each body cell, for collisions
+    // a cell array each, only made once a FLOW_FIELD snake or PARALLEL planning needs them
+    private FlowField flowField; // shared by FLOW_FIELD snakes
+    private Snake flowFieldPlanner; // PARALLEL: the snake the field search filled up front is counted for
+    private SearchStats flowFieldSearch;
+    private long flowFieldNanos;
+    private OccupancyGrid planningSnapshot; // read-only board for PARALLEL planning
+    private long tickCount = 0;
+    private long searchTimeNanos; // time budget of one budgeted search this tick
+    private PathfindingMode pathfindingMode = PathfindingMode.SEQUENTIAL;
+    private ExecutorService pathfindingPool;
+    private volatile boolean gameOver = false;
+    private final boolean playerMode;
+    private final int tickMillis; // 0 or less: searches get no time budget
+    private final long seed;
+    private final Random random; // every random choice of the game
+    private int searchExpansionLimit = SearchBudget.NO_EXPANSION_LIMIT;
+    private Snake playerSnake;
+    private ReplayRecorder recorder;
+
+    public GameEngine(boolean playerMode, int tickMillis) {
+        this(playerMode, tickMillis, new Random().nextLong());
+    }
+
+    // the default game, the player snake if any and three AI snakes
+    public GameEngine(boolean playerMode, int tickMillis, long seed) {
+        this(playerMode, tickMillis, seed, GRID_WIDTH);
+    }
+
+    // the default lineup on an arenaSize x arenaSize arena
+    public GameEngine(boolean playerMode, int tickMillis, long seed, int arenaSize) {
+        this.playerMode = playerMode;
+        this.tickMillis = tickMillis;
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.arenaSize = checkArenaSize(arenaSize);
+        this.minPos = 1;
+        this.maxPos = arenaSize - 2;
+        this.occupancy = new OccupancyGrid(minPos, maxPos, true);
+        this.owners = new OwnerGrid(minPos, maxPos);
+        List<Snake> initialSnakes = new ArrayList<>();
+        if (playerMode) {
+            Point playerStartPos = new Point(arenaSize / 2, arenaSize / 2);
+            playerSnake = new Snake(playerStartPos, COLOR_MAGENTA, null, false, false);
+            initialSnakes.add(playerSnake);
+            GameLog.d("GameViewInit", "Player snake created at (" + playerStartPos.x + "," + playerStartPos.y + ")");
+        }
+
+        // npc snakes
+        initialSnakes.add(new Snake(new Point(arenaSize / 2 - 10, arenaSize / 2 + 5), COLOR_GREEN, Snake.PathAlgorithm.ASTAR, true, true));
+        initialSnakes.add(new Snake(new Point(arenaSize / 4, arenaSize / 4), COLOR_RED, Snake.PathAlgorithm.BFS, true, true));
+        initialSnakes.add(new Snake(new Point(arenaSize * 3 / 4, arenaSize * 3 / 4), COLOR_YELLOW, Snake.PathAlgorithm.DIJKSTRA, true, true));
+        initGame(initialSnakes);
+    }
+
+    // a game between the given snakes, they move in list order. a snake that is not AI controlled
+    // is the player snake
+    public GameEngine(List<Snake> initialSnakes, int tickMillis, long seed) {
+        this(initialSnakes, tickMillis, seed, GRID_WIDTH);
+    }
+
+    public GameEngine(List<Snake> initialSnakes, int tickMillis, long seed, int arenaSize) {
+        for (Snake snake : initialSnakes) {
+            if (!snake.isAi && playerSnake == null) playerSnake = snake;
+        }
+        this.playerMode = playerSnake != null;
+        this.tickMillis = tickMillis;
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.arenaSize = checkArenaSize(arenaSize);
+        this.minPos = 1;
+        this.maxPos = arenaSize - 2;
+        this.occupancy = new OccupancyGrid(minPos, maxPos, true);
+        this.owners = new OwnerGrid(minPos, maxPos);
+        initGame(initialSnakes);
+    }
+
+    private static int checkArenaSize(int arenaSize) {
+        if (arenaSize < MIN_ARENA_SIZE || arenaSize > MAX_ARENA_SIZE) {
+            throw new IllegalArgumentException("Arena size " + arenaSize + " outside " + MIN_ARENA_SIZE + ".." + MAX_ARENA_SIZE);
+        }
+        return arenaSize;
+    }
+
+    private void initGame(List<Snake> initialSnakes) {
+        GameLog.d("GameViewInit", "initGame() started.");
+        gameOver = false;
+        snakes = new ArrayList<>(initialSnakes);
+        GameLog.d("GameViewInit", "Snakes added. Total snakes: " + snakes.size());
+        occupancy.rebuild(snakes);
+        owners.clear();
+        for (int i = 0; i < snakes.size(); i++) {
+            snakes.get(i).id = i;
+            owners.addSnake(snakes.get(i));
+        }
+
+        // eatable spawning
+        eatable = new Eatable(random);
+        spawnEatableSafely();
+        GameLog.d("GameViewInit", "initGame() finished.");
+    }
+
+    private void spawnEatableSafely() {
+        if (eatable == null) return;
+        eatable.spawn(occupancy);
+        if (recorder != null) recorder.onEatableSpawn(tickCount, eatable.position);
+        GameLog.d("GameViewLogic", "Eatable spawned at: (" + eatable.position.x + "," + eatable.position.y + ")");
+    }
+
+    // one game tick
+    public void update() {
+        if (gameOver || snakes == null || eatable == null) return;
+        Set<Snake> snakesToRemove = new LinkedHashSet<>(); // insertion ordered, removals stay in move order
+        List<Snake> currentSnakes = new ArrayList<>(snakes);
+        tickCount++;
+        if (recorder != null && playerSnake != null) recorder.onPlayerDirection(tickCount, playerSnake.direction);
+        searchTimeNanos = searchTimePerSnake(currentSnakes);
+        if (pathfindingMode == PathfindingMode.PARALLEL) {
+            planAiSnakesInParallel(currentSnakes);
+        }
+
+        for (Snake snake : currentSnakes) {
+            if (snake == null || snakesToRemove.contains(snake)) continue;
+            // snake movement
+            if (snake.isAi) {
+                if (pathfindingMode == PathfindingMode.SEQUENTIAL) {
+                    planAiSnake(snake, occupancy);
+                }
+                moveAiSnake(snake, snakesToRemove);
+            } else if (playerMode && snake == playerSnake) {
+                movePlayerSnake(snakesToRemove);
+            }
+            // eating of eatable
+            if (!snakesToRemove.contains(snake) && eatable.position != null && snake.body.headX() == eatable.position.x && snake.body.headY() == eatable.position.y) {
+                snake.eatEatable();
+                occupancy.add(snake.body.tailX(), snake.body.tailY()); // grown tail stacks on the old one
+                owners.onGrow(snake);
+                GameLog.d("GameViewLogic", "Snake " + snake.color + " ate the eatable. Score: " + snake.score);
+                spawnEatableSafely();
+            }
+        }
+
+        // remove colliding snakes
+        if (!snakesToRemove.isEmpty()) {
+            GameLog.d("GameViewLogic", "Removing " + snakesToRemove.size() + " snakes.");
+            snakes.removeAll(snakesToRemove);
+            for (Snake removed : snakesToRemove) {
+                occupancy.removeBody(removed.body);
+                owners.removeSnake(removed);
+                removed.deathTick = tickCount;
+            }
+        }
+
+        // check if game over
+        if (playerMode && playerSnake != null && snakesToRemove.contains(playerSnake)) {
+            GameLog.i("GameViewLogic", "Game Over: Player snake collided.");
+            gameOver = true;
+            playerSnake = null;
+        }
+        else if (!playerMode && snakes.size() <= 1) {
+            GameLog.i("GameViewLogic", "Game Over: Simulation ended with " + snakes.size() + " snakes remaining.");
+            gameOver = true;
+        }
+
+        if (gameOver) {
+            for (Snake snake : currentSnakes) {
+                if (snake != null && snake.isAi) {
+                    GameLog.d("GameViewLogic", "Snake " + snake.color + " replans: " + snake.replans + ", path reuses: " + snake.reuses);
+                }
+            }
+            GameLog.d("GameViewLogic", "Pathfinding metrics:\n" + PathfinderMetrics.summary());
+            if (recorder != null) recorder.finish(tickCount);
+        }
+    }
+
+    private void movePlayerSnake(Set<Snake> snakesToRemove) {
+        if (playerSnake == null || gameOver) return;
+
+        // next pos for the head
+        int newHeadX = playerSnake.body.headX() + playerSnake.direction.x;
+        int newHeadY = playerSnake.body.headY() + playerSnake.direction.y;
+
+        // collision check
+        if (willCollide(playerSnake, newHeadX, newHeadY)) {
+            GameLog.d("PlayerMove", "Player collision detected at (" + newHeadX + "," + newHeadY + ")");
+            snakesToRemove.add(playerSnake);
+        } else {
+            moveSnake(playerSnake);
+        }
+    }
+
+    // sequential searches share the search time of a tick, parallel ones each get all of it
+    private long searchTimePerSnake(List<Snake> currentSnakes) {
+        if (tickMillis <= 0 || searchExpansionLimit != SearchBudget.NO_EXPANSION_LIMIT) {
+            return SearchBudget.NO_DEADLINE;
+        }
+        long searchNanos = tickMillis * 1_000_000L / SEARCH_TICK_DIVISOR;
+        if (pathfindingMode == PathfindingMode.PARALLEL) {
+            return searchNanos;
+        }
+        int aiSnakes = 0;
+        for (Snake snake : currentSnakes) {
+            if (snake != null && snake.isAi) aiSnakes++;
+        }
+        return searchNanos / Math.max(1, aiSnakes);
+    }
+
+    // runs the searches of all AI snakes on the worker pool, only reads the snapshot and each snake's own state
+    private void planAiSnakesInParallel(List<Snake> currentSnakes) {
+        if (planningSnapshot == null) planningSnapshot = new OccupancyGrid(minPos, maxPos);
+        planningSnapshot.copyFrom(occupancy);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        flowFieldPlanner = null;
+        for (Snake snake : currentSnakes) {
+            if (snake == null || !snake.isAi) continue;
+            if (flowFieldPlanner == null && snake.algorithm == Snake.PathAlgorithm.FLOW_FIELD
+                    && !snake.isPlanValid(eatable.position, planningSnapshot, PLAN_CHECK_STEPS)) {
+                flowFieldPlanner = snake;
+            }
+            tasks.add(() -> {
+                planAiSnake(snake, planningSnapshot);
+                return null;
+            });
+        }
+        // the shared field is filled up front so the workers only read it. its search is counted
+        // with the first snake that replans on it, like on a sequential tick
+        if (flowFieldPlanner != null) {
+            long startNanos = System.nanoTime();
+            SearchStats stats = SearchStats.reset();
+            getFlowField().compute(eatable.position, planningSnapshot, currentSnakes, tickCount);
+            flowFieldSearch = stats.copy();
+            flowFieldNanos = System.nanoTime() - startNanos;
+        }
+        try {
+            for (Future<Void> result : getPathfindingPool().invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            GameLog.e("AIMove", "Parallel pathfinding failed: " + e.getMessage(), e);
+        } finally {
+            flowFieldPlanner = null;
+        }
+    }
+
+    private FlowField getFlowField() {
+        if (flowField == null) flowField = new FlowField(minPos, maxPos);
+        return flowField;
+    }
+
+    private ExecutorService getPathfindingPool() {
+        if (pathfindingPool == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+            pathfindingPool = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "pathfinding-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return pathfindingPool;
+    }
+
+    // npc snake planning, keeps the planned path if still valid or searches again on the given board
+    private void planAiSnake(Snake snake, OccupancyGrid board) {
+        if (snake == null || !snake.isAi || gameOver) return;
+        List<Point> path = null;
+        // out of time or no way to the eatable: head for the closest cell found instead of moving at random
+        SearchBudget budget = searchTimeNanos == SearchBudget.NO_DEADLINE
+                ? new SearchBudget(searchExpansionLimit, SearchBudget.NO_DEADLINE)
+                : SearchBudget.of(searchExpansionLimit, searchTimeNanos);
+        try {
+            if (snake.isPlanValid(eatable.position, board, PLAN_CHECK_STEPS)) {
+                snake.reuses++;
+            } else if (snake.algorithm == Snake.PathAlgorithm.FLOW_FIELD) {
+                // one reverse bfs per tick and eatable, every FLOW_FIELD snake only looks at its neighbors
+                long startNanos = System.nanoTime();
+                SearchStats stats = SearchStats.reset();
+                if (snake == flowFieldPlanner) {
+                    stats.add(flowFieldSearch);
+                    startNanos -= flowFieldNanos;
+                }
+                FlowField field = getFlowField();
+                if (!field.isCurrent(tickCount, eatable.position)) {
+                    field.compute(eatable.position, board, snakes, tickCount);
+                }
+                Point step = field.nextStep(snake, board);
+                path = step == null ? new ArrayList<>() : Collections.singletonList(step);
+                Pathfinder.recordMetrics(snake.algorithm, path, System.nanoTime() - startNanos);
+            } else if (snake.algorithm != null) {
+                path = Pathfinder.findPath(snake.algorithm, snake, eatable, board, snake.optimal, minPos, maxPos, budget);
+            }
+            if (path != null) {
+                snake.replans++;
+                snake.setPlan(path, eatable.position);
+            }
+        } catch (Exception e) {
+            GameLog.e("AIMove", "Pathfinding error for snake " + snake.color + ": " + e.getMessage(), e);
+            snake.clearPlan();
+        }
+    }
+
+    // npc snake movmeent, follows the planned step or falls back to the current or a perpendicular direction
+    private void moveAiSnake(Snake snake, Set<Snake> snakesToRemove) {
+        if (snake == null || !snake.isAi || gameOver) return;
+        boolean moved = false;
+
+        Point nextPosition = snake.nextPlannedStep();
+        if (nextPosition != null) {
+            // check head and collision
+            boolean onHead = nextPosition.x == snake.body.headX() && nextPosition.y == snake.body.headY();
+            if (!onHead && !willCollide(snake, nextPosition.x, nextPosition.y)) {
+                snake.setDirectionTowards(nextPosition);
+                moveSnake(snake);
+                snake.advancePlan();
+                moved = true;
+            } else {
+                GameLog.w("AIMove", "AI Snake " + snake.color + " path step invalid/collides: (" + nextPosition.x + "," + nextPosition.y + ")");
+            }
+        }
+        if (!moved) {
+            snake.clearPlan(); // fallback moves leave the planned path
+        }
+
+        // if path fails check collision on current direction
+        if (!moved) {
+            if (snake.direction.x != 0 || snake.direction.y != 0) {
+                if (!willCollide(snake, snake.body.headX() + snake.direction.x, snake.body.headY() + snake.direction.y)) {
+                    moveSnake(snake);
+                    moved = true;
+                }
+            }
+        }
+
+        // if path fails and current dir collides, try other 2 options
+        if (!moved) {
+            List<Point> possibleDirs = getPerpendicularDirections(snake.direction);
+            Collections.shuffle(possibleDirs, random);
+            for (Point dir : possibleDirs) {
+                if (!willCollide(snake, snake.body.headX() + dir.x, snake.body.headY() + dir.y)) {
+                    snake.direction = dir;
+                    moveSnake(snake);
+                    moved = true;
+                    break;
+                }
+            }
+        }
+
+        // if fails until here, kill snake
+        if (!moved) {
+            snakesToRemove.add(snake);
+            GameLog.w("AIMove", "AI Snake " + snake.color + " could not find any valid move and was removed.");
+        }
+    }
+
+    // moves the snake one step and keeps the occupancy and owner grids in step for the snakes moving after it
+    private void moveSnake(Snake snake) {
+        int tailX = snake.body.tailX();
+        int tailY = snake.body.tailY();
+        snake.move();
+        occupancy.remove(tailX, tailY);
+        occupancy.add(snake.body.headX(), snake.body.headY());
+        owners.onMove(snake, tailX, tailY);
+    }
+
+    // collision check
+    private boolean willCollide(Snake currentSnake, int x, int y) {
+        // game area boundaries
+        if (x < minPos || x > maxPos || y < minPos || y > maxPos) {
+            return true;
+        }
+
+        // snakes, the own head and an unstacked own tail do not block
+        return owners.isBlocked(x, y, currentSnake);
+    }
+
+    private List<Point> getPerpendicularDirections(Point currentDirection) {
+        List<Point> directions = new ArrayList<>();
+        if (currentDirection == null) return directions;
+        if (currentDirection.x != 0) {
+            directions.add(new Point(0, 1));
+            directions.add(new Point(0, -1));
+        } else if (currentDirection.y != 0) {
+            directions.add(new Point(1, 0));
+            directions.add(new Point(-1, 0));
+        } else {
+            directions.add(new Point(1, 0));
+            directions.add(new Point(-1, 0));
+            directions.add(new Point(0, 1));
+            directions.add(new Point(0, -1));
+        }
+        return directions;
+    }
+
+    public void setPlayerDirection(Point requestedDirection) {
+        if (playerSnake == null || !playerMode || gameOver || requestedDirection == null) {
+            return;
+        }
+
+        Point currentDir = playerSnake.direction;
+
+        if (currentDir == null) {
+            GameLog.w("SetPlayerDir", "Current direction is null, attempting to set directly.");
+            playerSnake.direction = requestedDirection;
+            return;
+        }
+
+        // check for current dir
+        if (currentDir.equals(requestedDirection)) {
+            GameLog.d("SetPlayerDir", "Ignoring direction change: Same direction requested.");
+            return;
+        }
+
+        // opposite direction not allowed
+        if (requestedDirection.x == -currentDir.x && requestedDirection.y == -currentDir.y) {
+            if (playerSnake.body != null && playerSnake.body.size() > 1) {
+                GameLog.d("SetPlayerDir", "Ignoring direction change: Opposite direction requested.");
+                return;
+            }
+        }
+
+        playerSnake.direction = requestedDirection;
+        GameLog.d("SetPlayerDir", "Set player direction to: (" + requestedDirection.x + "," + requestedDirection.y + ")");
+    }
+
+    public void setPathfindingMode(PathfindingMode mode) {
+        if (mode != null) {
+            this.pathfindingMode = mode;
+        }
+    }
+
+    public PathfindingMode getPathfindingMode() {
+        return pathfindingMode;
+    }
+
+    // caps every search at the given number of expansions instead of a share of the tick time, so
+    // the AI moves no longer depend on the speed of the device
+    public void setSearchExpansionLimit(int limit) {
+        this.searchExpansionLimit = limit;
+    }
+
+    public int getSearchExpansionLimit() {
+        return searchExpansionLimit;
+    }
+
+    // true if the same seed, config and player inputs always play the same game
+    public boolean isReproducible() {
+        return tickMillis <= 0 || searchExpansionLimit != SearchBudget.NO_EXPANSION_LIMIT;
+    }
+
+    // writes the replay header now and every input and spawn from here on, has to start before the first tick
+    public void startRecording(ReplayRecorder newRecorder) {
+        if (tickCount != 0) throw new IllegalStateException("Recording has to start before the first tick");
+        if (!isReproducible()) throw new IllegalStateException("Time budgeted searches cannot be replayed, set an expansion limit");
+        newRecorder.writeHeader(this);
+        this.recorder = newRecorder;
+    }
+
+    // ends the replay at the current tick, a game over ends it on its own
+    public void stopRecording() {
+        if (recorder != null) {
+            recorder.finish(tickCount);
+            recorder = null;
+        }
+    }
+
+    // replays set the recorded input directly, it already passed the checks of setPlayerDirection
+    void forcePlayerDirection(Point direction) {
+        if (playerSnake != null) playerSnake.direction = direction;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // cells per side including the walls
+    public int getArenaSize() {
+        return arenaSize;
+    }
+
+    public int getMinPos() {
+        return minPos;
+    }
+
+    public int getMaxPos() {
+        return maxPos;
+    }
+
+    public int getTickMillis() {
+        return tickMillis;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public void endGame() {
+        gameOver = true;
+    }
+
+    public boolean isPlayerMode() {
+        return playerMode;
+    }
+
+    // live list, only read it from the thread that calls update()
+    public List<Snake> getSnakes() {
+        return snakes;
+    }
+
+    public Eatable getEatable() {
+        return eatable;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    // stops the pathfinding workers, the engine cannot be updated afterwards
+    public void shutdown() {
+        gameOver = true;
+        if (pathfindingPool != null) {
+            pathfindingPool.shutdownNow();
+            pathfindingPool = null;
+        }
+    }
+}
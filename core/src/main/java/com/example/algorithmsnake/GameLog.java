@@ -0,0 +1,47 @@
+package com.example.algorithmsnake;
+
+// logging of the core, the app forwards it to android.util.Log, headless runs drop it by default
+public final class GameLog {
+    // same values as the android.util.Log priorities
+    public static final int DEBUG = 3;
+    public static final int INFO = 4;
+    public static final int WARN = 5;
+    public static final int ERROR = 6;
+
+    public interface Sink {
+        void log(int priority, String tag, String message, Throwable error);
+    }
+
+    private static volatile Sink sink = null;
+
+    private GameLog() {}
+
+    public static void setSink(Sink newSink) {
+        sink = newSink;
+    }
+
+    public static void d(String tag, String message) {
+        log(DEBUG, tag, message, null);
+    }
+
+    public static void i(String tag, String message) {
+        log(INFO, tag, message, null);
+    }
+
+    public static void w(String tag, String message) {
+        log(WARN, tag, message, null);
+    }
+
+    public static void e(String tag, String message) {
+        log(ERROR, tag, message, null);
+    }
+
+    public static void e(String tag, String message, Throwable error) {
+        log(ERROR, tag, message, error);
+    }
+
+    private static void log(int priority, String tag, String message, Throwable error) {
+        Sink current = sink;
+        if (current != null) current.log(priority, tag, message, error);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.algorithmsnake;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+// a replay written by KeyframeReplayWriter, memory-mapped so seeking only touches the pages of the
+// keyframe and deltas it decodes. see KeyframeReplayWriter for the format
+public final class KeyframeReplay {
+    private final ByteBuffer data;
+    private final int keyframeInterval;
+    private final int tickMillis;
+    private final int arenaSize;
+    private final int[] snakeKinds;
+    private final int[] snakeColors;
+    private final int indexOffset;
+    private final int keyframeCount;
+    private final long lastTick;
+    private final boolean endedInGameOver;
+
+    public KeyframeReplay(ByteBuffer data) throws IOException {
+        this.data = data;
+        byte[] magic = new byte[4];
+        data.position(0);
+        data.get(magic);
+        if (!Arrays.equals(magic, KeyframeReplayWriter.MAGIC)) throw new IOException("Not a keyframe replay");
+        int version = data.get() & 0xFF;
+        if (version != KeyframeReplayWriter.VERSION) throw new IOException("Unsupported keyframe replay version " + version);
+        keyframeInterval = (int) Varint.read(data);
+        tickMillis = (int) Varint.read(data);
+        arenaSize = (int) Varint.read(data);
+        int snakeCount = (int) Varint.read(data);
+        snakeKinds = new int[snakeCount];
+        snakeColors = new int[snakeCount];
+        for (int i = 0; i < snakeCount; i++) {
+            snakeKinds[i] = data.get() & 0xFF;
+            snakeColors[i] = data.getInt();
+        }
+        int trailer = data.limit() - KeyframeReplayWriter.TRAILER_SIZE;
+        if (trailer < data.position()) throw new IOException("Keyframe replay without index, the game was not finished");
+        indexOffset = (int) data.getLong(trailer);
+        keyframeCount = data.getInt(trailer + 8);
+        lastTick = data.getLong(trailer + 12);
+        endedInGameOver = data.get(trailer + 20) != 0;
+    }
+
+    // maps the whole file read-only, the mapping stays valid after the channel is closed
+    public static KeyframeReplay open(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new KeyframeReplay(buffer);
+        }
+    }
+
+    public long getLastTick() {
+        return lastTick;
+    }
+
+    public int getTickMillis() {
+        return tickMillis;
+    }
+
+    public int getArenaSize() {
+        return arenaSize;
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    // frame to decode into, reuse it for every seek and advance
+    public ReplayFrame newFrame() {
+        return new ReplayFrame(snakeKinds, snakeColors);
+    }
+
+    // decodes the board after the given tick from the keyframe at or before it
+    public void seek(ReplayFrame frame, long tick) {
+        tick = Math.max(0, Math.min(tick, lastTick));
+        int k = (int) Math.min(tick / keyframeInterval, keyframeCount - 1);
+        int offset = (int) data.getLong(indexOffset + 8 * k);
+        frame.nextOffset = readKeyframe(frame, offset, (long) k * keyframeInterval);
+        while (frame.tick < tick) {
+            advance(frame);
+        }
+    }
+
+    // decodes the next tick, false at the end of the replay
+    public boolean advance(ReplayFrame frame) {
+        if (frame.tick >= lastTick) return false;
+        ByteBuffer in = data.duplicate();
+        in.position(frame.nextOffset);
+        for (int i = 0; i < frame.alive.length; i++) {
+            if (!frame.alive[i]) continue;
+            int flags = in.get() & 0xFF;
+            if ((flags & KeyframeReplayWriter.DIED) != 0) {
+                frame.alive[i] = false;
+                continue;
+            }
+            Snake snake = frame.slots[i];
+            if ((flags & KeyframeReplayWriter.STAYED) == 0) {
+                int dir = flags & 3;
+                int x = snake.body.headX() + ReplayRecorder.DIRECTION_X[dir];
+                int y = snake.body.headY() + ReplayRecorder.DIRECTION_Y[dir];
+                snake.body.popTail();
+                snake.body.pushHead(x, y);
+                snake.direction = new Point(ReplayRecorder.DIRECTION_X[dir], ReplayRecorder.DIRECTION_Y[dir]);
+            }
+            if ((flags & KeyframeReplayWriter.GREW) != 0) {
+                snake.grow();
+                snake.score++;
+            }
+        }
+        if (in.get() != 0) {
+            frame.eatable.position = new Point((int) Varint.read(in), (int) Varint.read(in));
+        }
+        frame.tick++;
+        frame.nextOffset = in.position();
+        // the keyframe that follows holds the same board, skip it by reading it
+        if (frame.tick % keyframeInterval == 0 && frame.tick / keyframeInterval < keyframeCount) {
+            frame.nextOffset = readKeyframe(frame, frame.nextOffset, frame.tick);
+        }
+        frame.gameOver = endedInGameOver && frame.tick == lastTick;
+        return true;
+    }
+
+    private int readKeyframe(ReplayFrame frame, int offset, long tick) {
+        ByteBuffer in = data.duplicate();
+        in.position(offset);
+        frame.tick = tick;
+        frame.eatable.position = new Point((int) Varint.read(in), (int) Varint.read(in));
+        for (int i = 0; i < frame.alive.length; i++) {
+            frame.alive[i] = in.get() != 0;
+            if (!frame.alive[i]) continue;
+            Snake snake = frame.slots[i];
+            snake.score = (int) Varint.read(in);
+            int dir = in.get() & 0xFF;
+            snake.direction = new Point(ReplayRecorder.DIRECTION_X[dir], ReplayRecorder.DIRECTION_Y[dir]);
+            int length = (int) Varint.read(in);
+            snake.body.clear();
+            int x = (int) Varint.read(in);
+            int y = (int) Varint.read(in);
+            snake.body.addTail(x, y);
+            for (int s = 1; s < length; s++) {
+                int step = in.get() & 0xFF;
+                if (step != KeyframeReplayWriter.SAME_CELL) {
+                    x += ReplayRecorder.DIRECTION_X[step];
+                    y += ReplayRecorder.DIRECTION_Y[step];
+                }
+                snake.body.addTail(x, y);
+            }
+        }
+        frame.gameOver = endedInGameOver && tick == lastTick;
+        return in.position();
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.algorithmsnake;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// writes what a viewer needs to show a game from any tick: the board after every tick as a delta
+// and every keyframeInterval ticks the full board, so a seek decodes at most one keyframe and
+// keyframeInterval - 1 deltas. unlike ReplayRecorder it needs no re-simulation and works for any game.
+//
+// header: "SNKV", version byte, varint keyframe interval, varint tickMillis, varint arena size, varint snake count,
+// per snake: kind byte (0 player, else PathAlgorithm ordinal + 1), color (4 bytes).
+// then keyframe 0, and per tick its delta followed by a keyframe on every multiple of the interval.
+// delta: one byte per snake alive before the tick (bits 0-1 direction, bit 2 grew, bit 3 died,
+// bit 4 did not move), then a byte 1 with varint x and y if the eatable moved, else 0.
+// keyframe: per snake an alive byte, if alive varint score, direction byte, varint length and the
+// body as varint head x and y plus one step byte per segment (0-3 direction from the previous
+// segment, 4 same cell).
+// trailer: the keyframe offsets as 8 byte longs, then the index offset (8 bytes), the keyframe
+// count (4 bytes), the last tick (8 bytes) and a game over byte
+public final class KeyframeReplayWriter {
+    static final byte[] MAGIC = {'S', 'N', 'K', 'V'};
+    static final int VERSION = 2; // 2: arena size
+    static final int TRAILER_SIZE = 21;
+    static final int GREW = 1 << 2;
+    static final int DIED = 1 << 3;
+    static final int STAYED = 1 << 4;
+    static final int SAME_CELL = 4;
+
+    private final OutputStream out;
+    private final GameEngine engine;
+    private final int keyframeInterval;
+    private final List<Snake> slots;
+    private final Point[] lastHeads;
+    private final int[] lastLengths;
+    private final boolean[] alive;
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+    private long[] keyframeOffsets = new long[64];
+    private int keyframeCount = 0;
+    private long position = 0;
+    private int lastEatableX;
+    private int lastEatableY;
+    private long lastTick = 0;
+    private boolean finished = false;
+
+    // has to be created before the first tick, the stream is flushed but not closed by finish()
+    public KeyframeReplayWriter(OutputStream out, GameEngine engine, int keyframeInterval) {
+        if (engine.getTickCount() != 0) throw new IllegalStateException("Keyframe replays have to start before the first tick");
+        this.out = out;
+        this.engine = engine;
+        this.keyframeInterval = keyframeInterval;
+        this.slots = new ArrayList<>(engine.getSnakes());
+        this.lastHeads = new Point[slots.size()];
+        this.lastLengths = new int[slots.size()];
+        this.alive = new boolean[slots.size()];
+        try {
+            record.write(MAGIC);
+            record.write(VERSION);
+            Varint.write(record, keyframeInterval);
+            Varint.write(record, Math.max(0, engine.getTickMillis()));
+            Varint.write(record, engine.getArenaSize());
+            Varint.write(record, slots.size());
+            for (int i = 0; i < slots.size(); i++) {
+                Snake snake = slots.get(i);
+                record.write(snake.isAi && snake.algorithm != null ? snake.algorithm.ordinal() + 1 : 0);
+                writeInt(record, snake.color);
+                alive[i] = true;
+                remember(i, snake);
+            }
+            flushRecord();
+            writeKeyframe();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // call after every GameEngine.update()
+    public void onTick() {
+        long tick = engine.getTickCount();
+        if (finished || tick == lastTick) return;
+        lastTick = tick;
+        try {
+            for (int i = 0; i < slots.size(); i++) {
+                if (!alive[i]) continue;
+                Snake snake = slots.get(i);
+                if (snake.deathTick >= 0) {
+                    record.write(DIED);
+                    alive[i] = false;
+                    continue;
+                }
+                Point head = snake.getHead();
+                int dir = stepIndex(lastHeads[i], head);
+                int flags = dir == SAME_CELL ? STAYED : dir;
+                if (snake.body.size() > lastLengths[i]) flags |= GREW;
+                record.write(flags);
+                remember(i, snake);
+            }
+            Point eatable = engine.getEatable().position;
+            if (eatable.x != lastEatableX || eatable.y != lastEatableY) {
+                record.write(1);
+                Varint.write(record, eatable.x);
+                Varint.write(record, eatable.y);
+                lastEatableX = eatable.x;
+                lastEatableY = eatable.y;
+            } else {
+                record.write(0);
+            }
+            flushRecord();
+            if (tick % keyframeInterval == 0) {
+                writeKeyframe();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // writes the keyframe index, idempotent
+    public void finish() {
+        if (finished) return;
+        finished = true;
+        try {
+            long indexOffset = position;
+            for (int k = 0; k < keyframeCount; k++) {
+                writeLong(record, keyframeOffsets[k]);
+            }
+            writeLong(record, indexOffset);
+            writeInt(record, keyframeCount);
+            writeLong(record, lastTick);
+            record.write(engine.isGameOver() ? 1 : 0);
+            flushRecord();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeKeyframe() throws IOException {
+        if (keyframeCount == keyframeOffsets.length) {
+            keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframeCount * 2);
+        }
+        keyframeOffsets[keyframeCount++] = position;
+        Point eatable = engine.getEatable().position;
+        Varint.write(record, eatable.x);
+        Varint.write(record, eatable.y);
+        lastEatableX = eatable.x;
+        lastEatableY = eatable.y;
+        for (int i = 0; i < slots.size(); i++) {
+            record.write(alive[i] ? 1 : 0);
+            if (!alive[i]) continue;
+            Snake snake = slots.get(i);
+            Varint.write(record, snake.score);
+            record.write(Math.max(0, ReplayRecorder.directionIndex(snake.direction)));
+            Varint.write(record, snake.body.size());
+            Point previous = snake.body.get(0);
+            Varint.write(record, previous.x);
+            Varint.write(record, previous.y);
+            for (int s = 1; s < snake.body.size(); s++) {
+                Point segment = snake.body.get(s);
+                record.write(stepIndex(previous, segment));
+                previous = segment;
+            }
+        }
+        flushRecord();
+    }
+
+    private void remember(int slot, Snake snake) {
+        Point head = snake.getHead();
+        lastHeads[slot] = new Point(head.x, head.y);
+        lastLengths[slot] = snake.body.size();
+    }
+
+    private void flushRecord() throws IOException {
+        record.writeTo(out);
+        position += record.size();
+        record.reset();
+    }
+
+    // direction index of the step from a to the neighboring cell b, SAME_CELL if they are equal
+    static int stepIndex(Point a, Point b) {
+        for (int i = 0; i < ReplayRecorder.DIRECTION_X.length; i++) {
+            if (b.x - a.x == ReplayRecorder.DIRECTION_X[i] && b.y - a.y == ReplayRecorder.DIRECTION_Y[i]) return i;
+        }
+        return SAME_CELL;
+    }
+
+    private static void writeInt(OutputStream out, int value) throws IOException {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            out.write(value >>> shift);
+        }
+    }
+
+    private static void writeLong(OutputStream out, long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+}
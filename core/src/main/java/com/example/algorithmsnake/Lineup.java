@@ -0,0 +1,153 @@
+package com.example.algorithmsnake;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// a crowd of AI snakes for GameEngine(List, ...): aiSnakes snakes with the algorithms of the mix
+// handed out in turn, placed on the arena in the given layout. every snake starts three cells long
+// heading right with at least one free cell around it, the player snake if any starts in the middle
+public final class Lineup {
+    public enum Layout { GRID, SCATTERED }
+
+    private static final int SPACING_X = 5; // body of three plus a free cell on both sides
+    private static final int SPACING_Y = 2;
+    private static final int[] COLORS = {
+            GameEngine.COLOR_GREEN, GameEngine.COLOR_RED, GameEngine.COLOR_YELLOW, 0xFF3399FF,
+            0xFFFF8800, 0xFF00FFCC, 0xFFAA66FF, 0xFFFFFFFF
+    };
+
+    private final int aiSnakes;
+    private final List<Snake.PathAlgorithm> mix;
+    private final Layout layout;
+
+    public Lineup(int aiSnakes, List<Snake.PathAlgorithm> mix, Layout layout) {
+        if (aiSnakes < 1) throw new IllegalArgumentException("A lineup needs at least one AI snake");
+        if (mix.isEmpty()) throw new IllegalArgumentException("A lineup needs at least one algorithm");
+        this.aiSnakes = aiSnakes;
+        this.mix = new ArrayList<>(mix);
+        this.layout = layout;
+    }
+
+    public int getAiSnakes() {
+        return aiSnakes;
+    }
+
+    // most AI snakes for the arena, a quarter of the tightest grid so scattered snakes still find
+    // room by drawing and every snake has space to turn at the start
+    public static int maxAiSnakes(int arenaSize) {
+        int inner = arenaSize - 2 * (GameEngine.MIN_POS + 1);
+        return (inner / SPACING_X) * (inner / SPACING_Y) / 4;
+    }
+
+    // D* Lite keeps a search tree of the whole arena per snake, about 16 bytes a cell, too much
+    // memory for a crowd on anything larger than the default arena
+    public static boolean allows(Snake.PathAlgorithm algorithm, int arenaSize) {
+        return algorithm != Snake.PathAlgorithm.DSTAR_LITE || arenaSize <= GameEngine.GRID_WIDTH;
+    }
+
+    // the color AI snakes of the algorithm get, so the mix can be told apart
+    public static int colorOf(Snake.PathAlgorithm algorithm) {
+        return COLORS[algorithm.ordinal() % COLORS.length];
+    }
+
+    // the player first if withPlayer, then the AI snakes. random only places SCATTERED snakes,
+    // it should not be the generator of the engine or replays would draw different spawns
+    public List<Snake> createSnakes(boolean withPlayer, int arenaSize, Random random) {
+        if (aiSnakes > maxAiSnakes(arenaSize)) {
+            throw new IllegalArgumentException(aiSnakes + " AI snakes do not fit on a " + arenaSize + " arena");
+        }
+        for (Snake.PathAlgorithm algorithm : mix) {
+            if (!allows(algorithm, arenaSize)) {
+                throw new IllegalArgumentException(algorithm + " is not allowed in a lineup on a " + arenaSize + " arena");
+            }
+        }
+        int minPos = GameEngine.MIN_POS;
+        int maxPos = arenaSize - 2;
+        boolean[] taken = new boolean[arenaSize * arenaSize];
+        List<Snake> snakes = new ArrayList<>();
+        if (withPlayer) {
+            Point start = new Point(arenaSize / 2, arenaSize / 2);
+            take(taken, arenaSize, start);
+            snakes.add(new Snake(start, GameEngine.COLOR_MAGENTA, null, false, false));
+        }
+        List<Point> heads = layout == Layout.GRID
+                ? gridHeads(taken, arenaSize, minPos, maxPos)
+                : scatteredHeads(taken, arenaSize, minPos, maxPos, random);
+        for (int i = 0; i < aiSnakes; i++) {
+            Snake.PathAlgorithm algorithm = mix.get(i % mix.size());
+            snakes.add(new Snake(heads.get(i), colorOf(algorithm), algorithm, true, true));
+        }
+        return snakes;
+    }
+
+    // evenly spread slots, about as many columns as rows, a snake in the middle of each
+    private List<Point> gridHeads(boolean[] taken, int arenaSize, int minPos, int maxPos) {
+        int left = minPos + 1;
+        int inner = maxPos - 1 - left + 1;
+        int maxColumns = inner / SPACING_X;
+        int maxRows = inner / SPACING_Y;
+        int columns = Math.min(maxColumns, (int) Math.ceil(Math.sqrt(aiSnakes)));
+        if ((aiSnakes + columns - 1) / columns > maxRows) columns = Math.min(maxColumns, (aiSnakes + maxRows - 1) / maxRows);
+        int rows = Math.min(maxRows, (aiSnakes + columns - 1) / columns);
+        int slotWidth = inner / columns;
+        int slotHeight = inner / rows;
+        List<Point> heads = new ArrayList<>(aiSnakes);
+        for (int row = 0; row < rows && heads.size() < aiSnakes; row++) {
+            for (int column = 0; column < columns && heads.size() < aiSnakes; column++) {
+                Point head = new Point(left + column * slotWidth + slotWidth / 2 + 1, left + row * slotHeight + slotHeight / 2);
+                if (isFree(taken, arenaSize, head, minPos, maxPos)) {
+                    take(taken, arenaSize, head);
+                    heads.add(head);
+                }
+            }
+        }
+        // slots lost to the player snake go to the first free spots of the tightest grid
+        for (int y = left; y < maxPos && heads.size() < aiSnakes; y += SPACING_Y) {
+            for (int x = left + 3; x < maxPos && heads.size() < aiSnakes; x += SPACING_X) {
+                Point head = new Point(x, y);
+                if (isFree(taken, arenaSize, head, minPos, maxPos)) {
+                    take(taken, arenaSize, head);
+                    heads.add(head);
+                }
+            }
+        }
+        if (heads.size() < aiSnakes) throw new IllegalArgumentException(aiSnakes + " AI snakes do not fit on a " + arenaSize + " arena");
+        return heads;
+    }
+
+    // uniformly drawn free spots, the grid takes over if the arena is too crowded to find them
+    private List<Point> scatteredHeads(boolean[] taken, int arenaSize, int minPos, int maxPos, Random random) {
+        List<Point> heads = new ArrayList<>(aiSnakes);
+        int rangeX = maxPos - minPos - 3;
+        int rangeY = maxPos - minPos - 1;
+        int attempts = 0;
+        while (heads.size() < aiSnakes && attempts < aiSnakes * 200) {
+            attempts++;
+            Point head = new Point(minPos + 3 + random.nextInt(rangeX), minPos + 1 + random.nextInt(rangeY));
+            if (isFree(taken, arenaSize, head, minPos, maxPos)) {
+                take(taken, arenaSize, head);
+                heads.add(head);
+            }
+        }
+        if (heads.size() < aiSnakes) {
+            heads.addAll(new Lineup(aiSnakes - heads.size(), mix, Layout.GRID).gridHeads(taken, arenaSize, minPos, maxPos));
+        }
+        return heads;
+    }
+
+    // the three body cells and a free cell around them are inside the arena and untaken
+    private static boolean isFree(boolean[] taken, int arenaSize, Point head, int minPos, int maxPos) {
+        for (int y = head.y - 1; y <= head.y + 1; y++) {
+            for (int x = head.x - 3; x <= head.x + 1; x++) {
+                if (x < minPos || x > maxPos || y < minPos || y > maxPos || taken[y * arenaSize + x]) return false;
+            }
+        }
+        return true;
+    }
+
+    private static void take(boolean[] taken, int arenaSize, Point head) {
+        for (int x = head.x - 2; x <= head.x; x++) {
+            taken[head.y * arenaSize + x] = true;
+        }
+    }
+}
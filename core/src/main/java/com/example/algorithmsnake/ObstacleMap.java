@@ -0,0 +1,7 @@
+package com.example.algorithmsnake;
+
+// obstacle lookup used by Pathfinder, cells are given in grid coordinates
+interface ObstacleMap {
+    // true if the cell is covered by a body segment that blocks the given snake
+    boolean isBlocked(int x, int y, Snake snake);
+}
@@ -0,0 +1,173 @@
+package com.example.algorithmsnake;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// cells covered by snake bodies, one byte counter per cell so obstacle checks are O(1).
+// GameView builds it when the game starts and keeps it in step as snakes move, grow and die.
+// cells that turn occupied or free are written to a change log so incremental planners
+// (DStarLite) can repair only what changed since they last looked. a grid made with
+// trackFreeCells also keeps the free cells indexed for O(1) random picks (eatable spawns)
+public class OccupancyGrid implements ObstacleMap {
+    static final int CHANGE_LOG_SIZE = 4096; // power of two
+    private final int minPos;
+    private final int maxPos;
+    private final int width;
+    private final byte[] counts; // number of body segments on each cell, a grown tail stacks two
+    private final int[] changeLog = new int[CHANGE_LOG_SIZE];
+    private long changeCount = 0;
+    private final FreeCellSet freeCells; // null unless tracked
+
+    public OccupancyGrid(int minPos, int maxPos) {
+        this(minPos, maxPos, false);
+    }
+
+    public OccupancyGrid(int minPos, int maxPos, boolean trackFreeCells) {
+        this.minPos = minPos;
+        this.maxPos = maxPos;
+        this.width = maxPos - minPos + 1;
+        this.counts = new byte[width * width];
+        this.freeCells = trackFreeCells ? new FreeCellSet(width * width) : null;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, (byte) 0);
+        changeCount += CHANGE_LOG_SIZE + 1; // older log positions no longer describe the grid
+        if (freeCells != null) freeCells.fill();
+    }
+
+    // the free cell index is only copied if both grids track it
+    public void copyFrom(OccupancyGrid other) {
+        System.arraycopy(other.counts, 0, counts, 0, counts.length);
+        System.arraycopy(other.changeLog, 0, changeLog, 0, CHANGE_LOG_SIZE);
+        changeCount = other.changeCount;
+        if (freeCells != null && other.freeCells != null) freeCells.copyFrom(other.freeCells);
+    }
+
+    public void rebuild(List<Snake> snakes) {
+        clear();
+        for (Snake snake : snakes) {
+            if (snake != null && snake.body != null) {
+                addBody(snake.body);
+            }
+        }
+    }
+
+    public void addBody(List<Point> body) {
+        for (int i = 0; i < body.size(); i++) {
+            add(body.get(i));
+        }
+    }
+
+    public void removeBody(List<Point> body) {
+        for (int i = 0; i < body.size(); i++) {
+            remove(body.get(i));
+        }
+    }
+
+    public void addBody(SnakeBody body) {
+        for (int i = 0; i < body.size(); i++) {
+            add(body.x(i), body.y(i));
+        }
+    }
+
+    public void removeBody(SnakeBody body) {
+        for (int i = 0; i < body.size(); i++) {
+            remove(body.x(i), body.y(i));
+        }
+    }
+
+    public void add(Point p) {
+        if (p != null) add(p.x, p.y);
+    }
+
+    public void remove(Point p) {
+        if (p != null) remove(p.x, p.y);
+    }
+
+    public void add(int x, int y) {
+        if (!contains(x, y)) return;
+        int cell = cellOf(x, y);
+        if (counts[cell]++ == 0) {
+            logChange(cell);
+            if (freeCells != null) freeCells.remove(cell);
+        }
+    }
+
+    public void remove(int x, int y) {
+        if (!contains(x, y)) return;
+        int cell = cellOf(x, y);
+        if (counts[cell] > 0 && --counts[cell] == 0) {
+            logChange(cell);
+            if (freeCells != null) freeCells.add(cell);
+        }
+    }
+
+    private void logChange(int cell) {
+        changeLog[(int) (changeCount & (CHANGE_LOG_SIZE - 1))] = cell;
+        changeCount++;
+    }
+
+    // total number of logged changes, a reader keeps this to ask for the changes after it later
+    public long getChangeCount() {
+        return changeCount;
+    }
+
+    // true if every change after the given count is still in the log
+    public boolean hasChangesSince(long count) {
+        return count >= 0 && count <= changeCount && changeCount - count <= CHANGE_LOG_SIZE;
+    }
+
+    // cell index (row major from minPos) of the change at the given log position
+    public int getChangedCell(long index) {
+        return changeLog[(int) (index & (CHANGE_LOG_SIZE - 1))];
+    }
+
+    // number of cells no snake covers, needs trackFreeCells
+    public int getFreeCellCount() {
+        return freeCells().size();
+    }
+
+    // a uniformly drawn cell no snake covers, null if the board is full. needs trackFreeCells
+    public Point randomFreeCell(Random random) {
+        int cell = freeCells().random(random);
+        if (cell < 0) return null;
+        return new Point(cell % width + minPos, cell / width + minPos);
+    }
+
+    private FreeCellSet freeCells() {
+        if (freeCells == null) throw new IllegalStateException("Free cells are not tracked by this grid");
+        return freeCells;
+    }
+
+    public boolean isOccupied(int x, int y) {
+        return contains(x, y) && counts[cellOf(x, y)] > 0;
+    }
+
+    @Override
+    public boolean isBlocked(int x, int y, Snake snake) {
+        if (!contains(x, y)) return true;
+        int count = counts[cellOf(x, y)];
+        // own tail is no obstacle because it moves
+        if (snake != null && snake.body != null && !snake.body.isEmpty()) {
+            if (snake.body.tailX() == x && snake.body.tailY() == y) count--;
+        }
+        return count > 0;
+    }
+
+    public int getMinPos() {
+        return minPos;
+    }
+
+    public int getMaxPos() {
+        return maxPos;
+    }
+
+    private boolean contains(int x, int y) {
+        return x >= minPos && x <= maxPos && y >= minPos && y <= maxPos;
+    }
+
+    private int cellOf(int x, int y) {
+        return (y - minPos) * width + (x - minPos);
+    }
+}
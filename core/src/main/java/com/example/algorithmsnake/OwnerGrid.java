@@ -0,0 +1,90 @@
+package com.example.algorithmsnake;
+import java.util.Arrays;
+
+// which snake covers each cell and with which segment, so a collision check is one array read.
+// GameEngine keeps it in step: a move rewrites the old tail, old head and new head cells, a grow
+// the tail cell, and a removed snake is only marked dead, its stale cells read as empty.
+// rules never let two snakes share a cell, only a grown tail stacks on the segment before it
+final class OwnerGrid {
+    static final int HEAD = 1;
+    static final int BODY = 2;
+    static final int TAIL = 3;
+    private final int minPos;
+    private final int maxPos;
+    private final int width;
+    private final int[] cells; // (snake id + 1) << 2 | role, 0 for an empty cell
+    private boolean[] alive = new boolean[8];
+
+    OwnerGrid(int minPos, int maxPos) {
+        this.minPos = minPos;
+        this.maxPos = maxPos;
+        this.width = maxPos - minPos + 1;
+        this.cells = new int[width * width];
+    }
+
+    void clear() {
+        Arrays.fill(cells, 0);
+        Arrays.fill(alive, false);
+    }
+
+    void addSnake(Snake snake) {
+        if (snake.id >= alive.length) alive = Arrays.copyOf(alive, Math.max(alive.length * 2, snake.id + 1));
+        alive[snake.id] = true;
+        SnakeBody body = snake.body;
+        for (int i = body.size() - 1; i >= 0; i--) {
+            set(body.x(i), body.y(i), snake.id, i == 0 ? HEAD : i == body.size() - 1 ? TAIL : BODY);
+        }
+    }
+
+    void removeSnake(Snake snake) {
+        alive[snake.id] = false;
+    }
+
+    // after snake.move(), given where the tail was before it
+    void onMove(Snake snake, int oldTailX, int oldTailY) {
+        SnakeBody body = snake.body;
+        int tailX = body.tailX();
+        int tailY = body.tailY();
+        // a stacked tail leaves its cell to the segment it stacked on
+        if (tailX != oldTailX || tailY != oldTailY) set(oldTailX, oldTailY, -1, 0);
+        if (body.size() > 1) set(body.x(1), body.y(1), snake.id, BODY);
+        set(tailX, tailY, snake.id, TAIL);
+        set(body.headX(), body.headY(), snake.id, HEAD);
+    }
+
+    // after snake.grow(), the tail cell now also holds the segment before it
+    void onGrow(Snake snake) {
+        if (snake.body.size() > 1) set(snake.body.tailX(), snake.body.tailY(), snake.id, BODY);
+    }
+
+    // true if a snake other than the given one covers the cell, or the given one with a segment
+    // that will not move away: its own head and unstacked tail are no obstacle
+    boolean isBlocked(int x, int y, Snake snake) {
+        int value = get(x, y);
+        if (value == 0) return false;
+        int owner = (value >> 2) - 1;
+        if (!alive[owner]) return false;
+        int role = value & 3;
+        return owner != snake.id || role == BODY;
+    }
+
+    // id of the snake on the cell, -1 if none
+    int ownerAt(int x, int y) {
+        int value = get(x, y);
+        return value == 0 || !alive[(value >> 2) - 1] ? -1 : (value >> 2) - 1;
+    }
+
+    int roleAt(int x, int y) {
+        return ownerAt(x, y) < 0 ? 0 : get(x, y) & 3;
+    }
+
+    private int get(int x, int y) {
+        if (x < minPos || x > maxPos || y < minPos || y > maxPos) return 0;
+        return cells[(y - minPos) * width + (x - minPos)];
+    }
+
+    private void set(int x, int y, int id, int role) {
+        if (x < minPos || x > maxPos || y < minPos || y > maxPos) return;
+        cells[(y - minPos) * width + (x - minPos)] = id < 0 ? 0 : (id + 1) << 2 | role;
+    }
+}
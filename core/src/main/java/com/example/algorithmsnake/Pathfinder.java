@@ -0,0 +1,659 @@
+package com.example.algorithmsnake;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// class for npc snake pathfinding
+// searches run on packed cell indices (see SearchScratch), the only allocation per call is the returned path
+public class Pathfinder {
+    // neighbor order: right, left, down, up
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 1, -1};
+
+    // runs the search of the given algorithm and records it in PathfinderMetrics. the budget only applies to
+    // ASTAR, BFS and DIJKSTRA. FLOW_FIELD needs the shared field, the caller handles it and returns null here
+    public static List<Point> findPath(Snake.PathAlgorithm algorithm, Snake snake, Eatable eatable, OccupancyGrid occupancy, boolean optimal, int minPos, int maxPos, SearchBudget budget) {
+        long startNanos = System.nanoTime();
+        List<Point> path;
+        if (algorithm == Snake.PathAlgorithm.ASTAR) {
+            path = aStar(snake, eatable, occupancy, optimal, minPos, maxPos, budget);
+        } else if (algorithm == Snake.PathAlgorithm.BFS) {
+            path = bfs(snake, eatable, occupancy, optimal, minPos, maxPos, budget);
+        } else if (algorithm == Snake.PathAlgorithm.DIJKSTRA) {
+            path = dijkstra(snake, eatable, occupancy, optimal, minPos, maxPos, budget);
+        } else if (algorithm == Snake.PathAlgorithm.BFS_BIDIRECTIONAL) {
+            path = bidirectionalBfs(snake, eatable, occupancy, optimal, minPos, maxPos);
+        } else if (algorithm == Snake.PathAlgorithm.ASTAR_BIDIRECTIONAL) {
+            path = bidirectionalAStar(snake, eatable, occupancy, optimal, minPos, maxPos);
+        } else if (algorithm == Snake.PathAlgorithm.JPS) {
+            path = jps(snake, eatable, occupancy, optimal, minPos, maxPos);
+        } else if (algorithm == Snake.PathAlgorithm.DSTAR_LITE) {
+            path = dStarLite(snake, eatable, occupancy, optimal, minPos, maxPos);
+        } else {
+            return null;
+        }
+        recordMetrics(algorithm, path, System.nanoTime() - startNanos);
+        return path;
+    }
+
+    // records the calling thread's last search stats together with its result
+    public static void recordMetrics(Snake.PathAlgorithm algorithm, List<Point> path, long wallTimeNanos) {
+        SearchStats stats = SearchStats.current();
+        boolean found = !path.isEmpty() && !stats.isPartial();
+        PathfinderMetrics.record(algorithm, stats, path.size(), wallTimeNanos, found);
+    }
+
+    public static List<Point> aStar(Snake snake, Eatable eatable, List<List<Point>> allSnakeBodies, boolean optimal, int minPos, int maxPos) {
+        return aStar(snake, eatable, new BodyListObstacles(allSnakeBodies), optimal, minPos, maxPos, null);
+    }
+
+    public static List<Point> aStar(Snake snake, Eatable eatable, OccupancyGrid occupancy, boolean optimal, int minPos, int maxPos) {
+        return aStar(snake, eatable, occupancy, optimal, minPos, maxPos, null);
+    }
+
+    // anytime variant, see SearchBudget
+    public static List<Point> aStar(Snake snake, Eatable eatable, OccupancyGrid occupancy, boolean optimal, int minPos, int maxPos, SearchBudget budget) {
+        return aStar(snake, eatable, (ObstacleMap) occupancy, optimal, minPos, maxPos, budget);
+    }
+
+    private static List<Point> aStar(Snake snake, Eatable eatable, ObstacleMap obstacles, boolean optimal, int minPos, int maxPos, SearchBudget budget) {
+        int width = maxPos - minPos + 1;
+        Point start = snake.getHead();
+        Point end = eatable.position;
+        if (!inBounds(start, minPos, maxPos) || !inBounds(end, minPos, maxPos)) {
+            return new ArrayList<>(); // no path found
+        }
+        int startCell = cellOf(start.x, start.y, minPos, width);
+        int endCell = cellOf(end.x, end.y, minPos, width);
+        SearchScratch s = SearchScratch.get();
+        SearchStats stats = SearchStats.reset();
+        s.begin(width * width);
+        BucketQueue open = s.buckets;
+        s.markSeen(startCell, 0, -1);
+        open.push(heuristic(start.x, start.y, end), startCell);
+        stats.onEnqueue(open.size());
+        int closest = startCell; // lowest heuristic seen, the end of a partial path
+        int closestH = heuristic(start.x, start.y, end);
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (s.isClosed(current)) {
+                continue; // stale queue entry
+            }
+            if (current == endCell) {
+                return reconstructPath(s, current, minPos, width);
+            }
+            if (budget != null && budget.isExhausted(stats.getExpanded())) {
+                return partialPath(s, closest, stats, minPos, width);
+            }
+            s.markClosed(current);
+            stats.onExpand();
+            int cx = current % width + minPos;
+            int cy = current / width + minPos;
+
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (nx < minPos || nx > maxPos || ny < minPos || ny > maxPos) {
+                    continue;
+                }
+                int neighbor = cellOf(nx, ny, minPos, width);
+                if (s.isClosed(neighbor) || obstacles.isBlocked(nx, ny, snake)) {
+                    continue;
+                }
+                int g = s.g[current] + 1;
+                if (!s.isSeen(neighbor) || g < s.g[neighbor]) {
+                    s.markSeen(neighbor, g, current);
+                    if (!optimal && neighbor == endCell) {
+                        return reconstructPath(s, neighbor, minPos, width);
+                    }
+                    int h = heuristic(nx, ny, end);
+                    if (h < closestH) {
+                        closestH = h;
+                        closest = neighbor;
+                    }
+                    open.push(g + h, neighbor);
+                    stats.onEnqueue(open.size());
+                }
+            }
+        }
+        if (budget != null) {
+            return partialPath(s, closest, stats, minPos, width);
+        }
+        return new ArrayList<>(); // no path found
+    }
+
+    public static List<Point> bfs(Snake snake, Eatable eatable, List<List<Point>> allSnakeBodies, boolean optimal, int minPos, int maxPos) {
+        return bfs(snake, eatable, new BodyListObstacles(allSnakeBodies), optimal, minPos, maxPos, null);
+    }
+
+    public static List<Point> bfs(Snake snake, Eatable eatable, OccupancyGrid occupancy, boolean optimal, int minPos, int maxPos) {
+        return bfs(snake, eatable, occupancy, optimal, minPos, maxPos, null);
+    }
+
+    // anytime variant, see SearchBudget
+    public static List<Point> bfs(Snake snake, Eatable eatable, OccupancyGrid occupancy, boolean optimal, int minPos, int maxPos, SearchBudget budget) {
+        return bfs(snake, eatable, (ObstacleMap) occupancy, optimal, minPos, maxPos, budget);
+    }
+
+    private static List<Point> bfs(Snake snake, Eatable eatable, ObstacleMap obstacles, boolean optimal, int minPos, int maxPos, SearchBudget budget) {
+        int width = maxPos - minPos + 1;
+        Point start = snake.getHead();
+        Point end = eatable.position;
+        if (!inBounds(start, minPos, maxPos) || !inBounds(end, minPos, maxPos)) {
+            return new ArrayList<>(); //no path found
+        }
+        int startCell = cellOf(start.x, start.y, minPos, width);
+        int endCell = cellOf(end.x, end.y, minPos, width);
+        SearchScratch s = SearchScratch.get();
+        SearchStats stats = SearchStats.reset();
+        s.begin(width * width);
+        int[] queue = s.fifo;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = startCell;
+        stats.onEnqueue(1);
+        s.markSeen(startCell, 0, -1);
+        int closest = startCell; // lowest heuristic seen, the end of a partial path
+        int closestH = heuristic(start.x, start.y, end);
+        while (head < tail) {
+            int current = queue[head++];
+            if (current == endCell) {
+                return reconstructPath(s, current, minPos, width);
+            }
+            if (budget != null && budget.isExhausted(stats.getExpanded())) {
+                return partialPath(s, closest, stats, minPos, width);
+            }
+            stats.onExpand();
+            int cx = current % width + minPos;
+            int cy = current / width + minPos;
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (nx < minPos || nx > maxPos || ny < minPos || ny > maxPos) {
+                    continue;
+                }
+                int neighbor = cellOf(nx, ny, minPos, width);
+                if (!s.isSeen(neighbor) && !obstacles.isBlocked(nx, ny, snake)) {
+                    s.markSeen(neighbor, s.g[current] + 1, current);
+                    queue[tail++] = neighbor;
+                    stats.onEnqueue(tail - head);
+                    if (!optimal && neighbor == endCell) {
+                        return reconstructPath(s, neighbor, minPos, width);
+                    }
+                    if (budget != null && heuristic(nx, ny, end) < closestH) {
+                        closestH = heuristic(nx, ny, end);
+                        closest = neighbor;
+                    }
+                }
+            }
+        }
+        if (budget != null) {
+            return partialPath(s, closest, stats, minPos, width);
+        }
+        return new ArrayList<>(); //no path found
+    }
+
+    public static List<Point> dijkstra(Snake snake, Eatable eatable, List<List<Point>> allSnakeBodies, boolean optimal, int minPos, int maxPos) {
+        return dijkstra(snake, eatable, new BodyListObstacles(allSnakeBodies), optimal, minPos, maxPos, null);
+    }
+
+    public static List<Point> dijkstra(Snake snake, Eatable eatable, OccupancyGrid occupancy, boolean optimal, int minPos, int maxPos) {
+        return dijkstra(snake, eatable, occupancy, optimal, minPos, maxPos, null);
+    }
+
+    // anytime variant, see SearchBudget
+    public static List<Point> dijkstra(Snake snake, Eatable eatable, OccupancyGrid occupancy, boolean optimal, int minPos, int maxPos, SearchBudget budget) {
+        return dijkstra(snake, eatable, (ObstacleMap) occupancy, optimal, minPos, maxPos, budget);
+    }
+
+    private static List<Point> dijkstra(Snake snake, Eatable eatable, ObstacleMap obstacles, boolean optimal, int minPos, int maxPos, SearchBudget budget) {
+        int width = maxPos - minPos + 1;
+        Point start = snake.getHead();
+        Point end = eatable.position;
+        if (!inBounds(start, minPos, maxPos) || !inBounds(end, minPos, maxPos)) {
+            return new ArrayList<>();
+        }
+        int startCell = cellOf(start.x, start.y, minPos, width);
+        int endCell = cellOf(end.x, end.y, minPos, width);
+        SearchScratch s = SearchScratch.get();
+        SearchStats stats = SearchStats.reset();
+        s.begin(width * width);
+        BucketQueue open = s.buckets;
+        s.markSeen(startCell, 0, -1);
+        open.push(0, startCell);
+        stats.onEnqueue(open.size());
+        int closest = startCell; // lowest heuristic seen, the end of a partial path
+        int closestH = heuristic(start.x, start.y, end);
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (open.lastPriority() > s.g[current]) {
+                continue;
+            }
+            if (current == endCell) {
+                return reconstructPath(s, current, minPos, width);
+            }
+            if (budget != null && budget.isExhausted(stats.getExpanded())) {
+                return partialPath(s, closest, stats, minPos, width);
+            }
+            stats.onExpand();
+            int cx = current % width + minPos;
+            int cy = current / width + minPos;
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (nx < minPos || nx > maxPos || ny < minPos || ny > maxPos) {
+                    continue;
+                }
+                if (obstacles.isBlocked(nx, ny, snake)) {
+                    continue;
+                }
+                int neighbor = cellOf(nx, ny, minPos, width);
+                int tentativeG = s.g[current] + 1;
+                if (!s.isSeen(neighbor) || tentativeG < s.g[neighbor]) {
+                    s.markSeen(neighbor, tentativeG, current);
+                    open.push(tentativeG, neighbor);
+                    stats.onEnqueue(open.size());
+                    if (budget != null && heuristic(nx, ny, end) < closestH) {
+                        closestH = heuristic(nx, ny, end);
+                        closest = neighbor;
+                    }
+                }
+            }
+        }
+        if (budget != null) {
+            return partialPath(s, closest, stats, minPos, width);
+        }
+        return new ArrayList<>();
+    }
+
+    // bidirectional bfs, expands whole levels from the head and from the eatable until the two trees meet
+    public static List<Point> bidirectionalBfs(Snake snake, Eatable eatable, List<List<Point>> allSnakeBodies, boolean optimal, int minPos, int maxPos) {
+        return bidirectionalBfs(snake, eatable, new BodyListObstacles(allSnakeBodies), optimal, minPos, maxPos);
+    }
+
+    public static List<Point> bidirectionalBfs(Snake snake, Eatable eatable, OccupancyGrid occupancy, boolean optimal, int minPos, int maxPos) {
+        return bidirectionalBfs(snake, eatable, (ObstacleMap) occupancy, optimal, minPos, maxPos);
+    }
+
+    private static List<Point> bidirectionalBfs(Snake snake, Eatable eatable, ObstacleMap obstacles, boolean optimal, int minPos, int maxPos) {
+        int width = maxPos - minPos + 1;
+        Point start = snake.getHead();
+        Point end = eatable.position;
+        if (!inBounds(start, minPos, maxPos) || !inBounds(end, minPos, maxPos) || obstacles.isBlocked(end.x, end.y, snake)) {
+            return new ArrayList<>(); //no path found
+        }
+        int startCell = cellOf(start.x, start.y, minPos, width);
+        int endCell = cellOf(end.x, end.y, minPos, width);
+        if (startCell == endCell) {
+            return new ArrayList<>();
+        }
+        SearchScratch fwd = SearchScratch.get();
+        SearchScratch bwd = SearchScratch.getReverse();
+        SearchStats stats = SearchStats.reset();
+        fwd.begin(width * width);
+        bwd.begin(width * width);
+        fwd.markSeen(startCell, 0, -1);
+        bwd.markSeen(endCell, 0, -1);
+        fwd.fifo[0] = startCell;
+        bwd.fifo[0] = endCell;
+        stats.onEnqueue(1);
+        stats.onEnqueue(2);
+        int fwdHead = 0, fwdTail = 1;
+        int bwdHead = 0, bwdTail = 1;
+        int best = Integer.MAX_VALUE;
+        int meet = -1;
+
+        while (fwdHead < fwdTail && bwdHead < bwdTail) {
+            // expand one whole level of the smaller frontier
+            boolean forward = fwdTail - fwdHead <= bwdTail - bwdHead;
+            SearchScratch side = forward ? fwd : bwd;
+            SearchScratch other = forward ? bwd : fwd;
+            int head = forward ? fwdHead : bwdHead;
+            int tail = forward ? fwdTail : bwdTail;
+            int levelEnd = tail;
+            while (head < levelEnd) {
+                int current = side.fifo[head++];
+                stats.onExpand();
+                int cx = current % width + minPos;
+                int cy = current / width + minPos;
+                for (int d = 0; d < 4; d++) {
+                    int nx = cx + DX[d];
+                    int ny = cy + DY[d];
+                    if (nx < minPos || nx > maxPos || ny < minPos || ny > maxPos) {
+                        continue;
+                    }
+                    int neighbor = cellOf(nx, ny, minPos, width);
+                    // the backward search has to be able to step onto the head
+                    if (side.isSeen(neighbor) || (neighbor != startCell && obstacles.isBlocked(nx, ny, snake))) {
+                        continue;
+                    }
+                    side.markSeen(neighbor, side.g[current] + 1, current);
+                    side.fifo[tail++] = neighbor;
+                    stats.onEnqueue((forward ? bwdTail - bwdHead : fwdTail - fwdHead) + tail - head);
+                    if (other.isSeen(neighbor) && side.g[neighbor] + other.g[neighbor] < best) {
+                        best = side.g[neighbor] + other.g[neighbor];
+                        meet = neighbor;
+                        if (!optimal) {
+                            return reconstructBidirectionalPath(fwd, bwd, meet, minPos, width);
+                        }
+                    }
+                }
+            }
+            if (forward) {
+                fwdHead = head;
+                fwdTail = tail;
+            } else {
+                bwdHead = head;
+                bwdTail = tail;
+            }
+            // no shorter meeting can show up once a level produced one
+            if (meet != -1) {
+                return reconstructBidirectionalPath(fwd, bwd, meet, minPos, width);
+            }
+        }
+        return new ArrayList<>(); //no path found
+    }
+
+    // bidirectional a*, both directions use the Manhattan distance to the opposite end
+    public static List<Point> bidirectionalAStar(Snake snake, Eatable eatable, List<List<Point>> allSnakeBodies, boolean optimal, int minPos, int maxPos) {
+        return bidirectionalAStar(snake, eatable, new BodyListObstacles(allSnakeBodies), optimal, minPos, maxPos);
+    }
+
+    public static List<Point> bidirectionalAStar(Snake snake, Eatable eatable, OccupancyGrid occupancy, boolean optimal, int minPos, int maxPos) {
+        return bidirectionalAStar(snake, eatable, (ObstacleMap) occupancy, optimal, minPos, maxPos);
+    }
+
+    private static List<Point> bidirectionalAStar(Snake snake, Eatable eatable, ObstacleMap obstacles, boolean optimal, int minPos, int maxPos) {
+        int width = maxPos - minPos + 1;
+        Point start = snake.getHead();
+        Point end = eatable.position;
+        if (!inBounds(start, minPos, maxPos) || !inBounds(end, minPos, maxPos) || obstacles.isBlocked(end.x, end.y, snake)) {
+            return new ArrayList<>(); // no path found
+        }
+        int startCell = cellOf(start.x, start.y, minPos, width);
+        int endCell = cellOf(end.x, end.y, minPos, width);
+        if (startCell == endCell) {
+            return new ArrayList<>();
+        }
+        SearchScratch fwd = SearchScratch.get();
+        SearchScratch bwd = SearchScratch.getReverse();
+        fwd.begin(width * width);
+        bwd.begin(width * width);
+        fwd.markSeen(startCell, 0, -1);
+        bwd.markSeen(endCell, 0, -1);
+        SearchStats stats = SearchStats.reset();
+        fwd.heapPush(heuristic(start.x, start.y, end), startCell);
+        bwd.heapPush(heuristic(end.x, end.y, start), endCell);
+        stats.onEnqueue(1);
+        stats.onEnqueue(2);
+        int best = Integer.MAX_VALUE;
+        int meet = -1;
+
+        while (!fwd.heapIsEmpty() && !bwd.heapIsEmpty()) {
+            // every path shorter than best would still need a queued node on both sides with f below best
+            if (best <= Math.max(fwd.heapPeekPriority(), bwd.heapPeekPriority())) {
+                break;
+            }
+            boolean forward = fwd.heapSize() <= bwd.heapSize();
+            SearchScratch side = forward ? fwd : bwd;
+            SearchScratch other = forward ? bwd : fwd;
+            Point target = forward ? end : start;
+            int current = SearchScratch.entryCell(side.heapPoll());
+            if (side.isClosed(current)) {
+                continue; // stale queue entry
+            }
+            side.markClosed(current);
+            stats.onExpand();
+            int cx = current % width + minPos;
+            int cy = current / width + minPos;
+
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (nx < minPos || nx > maxPos || ny < minPos || ny > maxPos) {
+                    continue;
+                }
+                int neighbor = cellOf(nx, ny, minPos, width);
+                // the backward search has to be able to step onto the head
+                if (side.isClosed(neighbor) || (neighbor != startCell && obstacles.isBlocked(nx, ny, snake))) {
+                    continue;
+                }
+                int g = side.g[current] + 1;
+                if (!side.isSeen(neighbor) || g < side.g[neighbor]) {
+                    side.markSeen(neighbor, g, current);
+                    side.heapPush(g + heuristic(nx, ny, target), neighbor);
+                    stats.onEnqueue(fwd.heapSize() + bwd.heapSize());
+                    if (other.isSeen(neighbor) && g + other.g[neighbor] < best) {
+                        best = g + other.g[neighbor];
+                        meet = neighbor;
+                        if (!optimal) {
+                            return reconstructBidirectionalPath(fwd, bwd, meet, minPos, width);
+                        }
+                    }
+                }
+            }
+        }
+        if (meet != -1) {
+            return reconstructBidirectionalPath(fwd, bwd, meet, minPos, width);
+        }
+        return new ArrayList<>(); // no path found
+    }
+
+    // jump point search adapted to 4-connectivity. paths are kept in vertical-first order, so a
+    // vertical run looks sideways at every step while a horizontal run only stops at the eatable
+    // or where a blocked cell behind it forces a turn. only those jump points enter the queue
+    public static List<Point> jps(Snake snake, Eatable eatable, List<List<Point>> allSnakeBodies, boolean optimal, int minPos, int maxPos) {
+        return jps(snake, eatable, new BodyListObstacles(allSnakeBodies), optimal, minPos, maxPos);
+    }
+
+    public static List<Point> jps(Snake snake, Eatable eatable, OccupancyGrid occupancy, boolean optimal, int minPos, int maxPos) {
+        return jps(snake, eatable, (ObstacleMap) occupancy, optimal, minPos, maxPos);
+    }
+
+    private static List<Point> jps(Snake snake, Eatable eatable, ObstacleMap obstacles, boolean optimal, int minPos, int maxPos) {
+        int width = maxPos - minPos + 1;
+        Point start = snake.getHead();
+        Point end = eatable.position;
+        if (!inBounds(start, minPos, maxPos) || !inBounds(end, minPos, maxPos) || obstacles.isBlocked(end.x, end.y, snake)) {
+            return new ArrayList<>(); // no path found
+        }
+        int startCell = cellOf(start.x, start.y, minPos, width);
+        int endCell = cellOf(end.x, end.y, minPos, width);
+        JumpGrid grid = new JumpGrid(snake, obstacles, minPos, maxPos, startCell, endCell);
+        SearchScratch s = SearchScratch.get();
+        SearchStats stats = SearchStats.reset();
+        s.begin(width * width);
+        BucketQueue open = s.buckets;
+        s.markSeen(startCell, 0, -1);
+        open.push(heuristic(start.x, start.y, end), startCell);
+        stats.onEnqueue(open.size());
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (s.isClosed(current)) {
+                continue; // stale queue entry
+            }
+            if (current == endCell) {
+                return reconstructJumpPath(s, current, minPos, width);
+            }
+            s.markClosed(current);
+            stats.onExpand();
+            int cx = current % width + minPos;
+            int cy = current / width + minPos;
+            int parent = s.parent[current];
+
+            for (int d = 0; d < 4; d++) {
+                int dx = DX[d];
+                int dy = DY[d];
+                if (parent != -1 && !grid.isNaturalOrForced(cx, cy, parent % width + minPos, parent / width + minPos, dx, dy)) {
+                    continue;
+                }
+                int jumpCell = grid.jump(cx + dx, cy + dy, dx, dy);
+                if (jumpCell == -1 || s.isClosed(jumpCell)) {
+                    continue;
+                }
+                int jx = jumpCell % width + minPos;
+                int jy = jumpCell / width + minPos;
+                int g = s.g[current] + Math.abs(jx - cx) + Math.abs(jy - cy);
+                if (!s.isSeen(jumpCell) || g < s.g[jumpCell]) {
+                    s.markSeen(jumpCell, g, current);
+                    if (!optimal && jumpCell == endCell) {
+                        return reconstructJumpPath(s, jumpCell, minPos, width);
+                    }
+                    open.push(g + heuristic(jx, jy, end), jumpCell);
+                    stats.onEnqueue(open.size());
+                }
+            }
+        }
+        return new ArrayList<>(); // no path found
+    }
+
+    // d* lite keeps its search tree on the snake and only repairs the cells that changed since the
+    // last call. it needs the occupancy change log, so there is no body list overload, and it
+    // always returns shortest paths so the optimal flag makes no difference
+    public static List<Point> dStarLite(Snake snake, Eatable eatable, OccupancyGrid occupancy, boolean optimal, int minPos, int maxPos) {
+        Point start = snake.getHead();
+        Point end = eatable.position;
+        SearchStats stats = SearchStats.reset();
+        if (!inBounds(start, minPos, maxPos) || !inBounds(end, minPos, maxPos) || start.equals(end)
+                || occupancy.isBlocked(end.x, end.y, snake)) {
+            return new ArrayList<>(); // no path found
+        }
+        if (snake.dStarLite == null || !snake.dStarLite.covers(minPos, maxPos)) {
+            snake.dStarLite = new DStarLite(minPos, maxPos);
+        }
+        return snake.dStarLite.plan(snake, end, occupancy, stats);
+    }
+
+    public static SearchStats lastSearchStats() {
+        return SearchStats.current();
+    }
+
+    private static int heuristic(int x, int y, Point b) {
+        // Manhattan distance
+        return Math.abs(x - b.x) + Math.abs(y - b.y);
+    }
+
+    private static boolean inBounds(Point p, int minPos, int maxPos) {
+        return p != null && p.x >= minPos && p.x <= maxPos && p.y >= minPos && p.y <= maxPos;
+    }
+
+    private static int cellOf(int x, int y, int minPos, int width) {
+        return (y - minPos) * width + (x - minPos);
+    }
+
+    // path to the cell closest to the target when a budgeted search stops short of it
+    private static List<Point> partialPath(SearchScratch s, int closest, SearchStats stats, int minPos, int width) {
+        stats.markPartial();
+        return reconstructPath(s, closest, minPos, width);
+    }
+
+    // walks the parent chain back to the start, the start cell itself is not part of the path
+    private static List<Point> reconstructPath(SearchScratch s, int cell, int minPos, int width) {
+        int length = 0;
+        for (int c = cell; s.parent[c] != -1; c = s.parent[c]) {
+            length++;
+        }
+        Point[] steps = new Point[length];
+        int i = length;
+        for (int c = cell; s.parent[c] != -1; c = s.parent[c]) {
+            steps[--i] = new Point(c % width + minPos, c / width + minPos);
+        }
+        return new ArrayList<>(Arrays.asList(steps));
+    }
+
+    // joins the forward chain start..meet with the backward chain meet..end
+    private static List<Point> reconstructBidirectionalPath(SearchScratch fwd, SearchScratch bwd, int meet, int minPos, int width) {
+        List<Point> path = reconstructPath(fwd, meet, minPos, width);
+        for (int c = bwd.parent[meet]; c != -1; c = bwd.parent[c]) {
+            path.add(new Point(c % width + minPos, c / width + minPos));
+        }
+        return path;
+    }
+
+    // jump points are joined by straight runs, fill in the cells between them
+    private static List<Point> reconstructJumpPath(SearchScratch s, int cell, int minPos, int width) {
+        Point[] steps = new Point[s.g[cell]];
+        int i = steps.length;
+        for (int c = cell; s.parent[c] != -1; c = s.parent[c]) {
+            int p = s.parent[c];
+            int x = c % width;
+            int y = c / width;
+            int stepX = Integer.signum(p % width - x);
+            int stepY = Integer.signum(p / width - y);
+            while (x != p % width || y != p / width) {
+                steps[--i] = new Point(x + minPos, y + minPos);
+                x += stepX;
+                y += stepY;
+            }
+        }
+        return new ArrayList<>(Arrays.asList(steps));
+    }
+
+    // grid queries for jps, built once per call
+    private static final class JumpGrid {
+        private final Snake snake;
+        private final ObstacleMap obstacles;
+        private final int minPos;
+        private final int maxPos;
+        private final int width;
+        private final int startCell;
+        private final int endCell;
+
+        JumpGrid(Snake snake, ObstacleMap obstacles, int minPos, int maxPos, int startCell, int endCell) {
+            this.snake = snake;
+            this.obstacles = obstacles;
+            this.minPos = minPos;
+            this.maxPos = maxPos;
+            this.width = maxPos - minPos + 1;
+            this.startCell = startCell;
+            this.endCell = endCell;
+        }
+
+        boolean isPassable(int x, int y) {
+            return x >= minPos && x <= maxPos && y >= minPos && y <= maxPos && !obstacles.isBlocked(x, y, snake);
+        }
+
+        // the head cell counts as free when looking for forced turns
+        private boolean isOpen(int x, int y) {
+            return isPassable(x, y) || (x >= minPos && x <= maxPos && y >= minPos && y <= maxPos && cellOf(x, y, minPos, width) == startCell);
+        }
+
+        // a horizontal run has to turn into (x, y + vy) when the cell behind that one is not open
+        private boolean isForced(int x, int y, int dx, int vy) {
+            return isPassable(x, y + vy) && !isOpen(x - dx, y + vy);
+        }
+
+        // prunes the successors of a jump point reached from (px, py)
+        boolean isNaturalOrForced(int x, int y, int px, int py, int dx, int dy) {
+            if (py == y) {
+                int arrivedX = Integer.signum(x - px);
+                if (dy == 0) return dx == arrivedX;
+                return isForced(x, y, arrivedX, dy);
+            }
+            int arrivedY = Integer.signum(y - py);
+            return dx != 0 || dy == arrivedY;
+        }
+
+        // follows a straight run starting at (x, y) and returns the first jump point on it, or -1
+        int jump(int x, int y, int dx, int dy) {
+            while (isPassable(x, y)) {
+                int cell = cellOf(x, y, minPos, width);
+                if (cell == endCell) {
+                    return cell;
+                }
+                if (dy == 0) {
+                    if (isForced(x, y, dx, 1) || isForced(x, y, dx, -1)) {
+                        return cell;
+                    }
+                } else if (jump(x + 1, y, 1, 0) != -1 || jump(x - 1, y, -1, 0) != -1) {
+                    return cell;
+                }
+                x += dx;
+                y += dy;
+            }
+            return -1;
+        }
+    }
+}
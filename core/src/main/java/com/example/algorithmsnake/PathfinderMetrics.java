@@ -0,0 +1,54 @@
+package com.example.algorithmsnake;
+import java.util.EnumMap;
+import java.util.Map;
+
+// process wide pathfinding metrics grouped by Snake.PathAlgorithm, filled by Pathfinder.findPath.
+// all entries exist up front, recording only touches atomics so it is safe from the worker pool
+public final class PathfinderMetrics {
+    private static final Map<Snake.PathAlgorithm, AlgorithmMetrics> METRICS = new EnumMap<>(Snake.PathAlgorithm.class);
+    private static volatile boolean enabled = true;
+
+    static {
+        for (Snake.PathAlgorithm algorithm : Snake.PathAlgorithm.values()) {
+            METRICS.put(algorithm, new AlgorithmMetrics(algorithm));
+        }
+    }
+
+    private PathfinderMetrics() {}
+
+    public static AlgorithmMetrics get(Snake.PathAlgorithm algorithm) {
+        return METRICS.get(algorithm);
+    }
+
+    public static void record(Snake.PathAlgorithm algorithm, SearchStats stats, int pathLength, long wallTimeNanos, boolean found) {
+        if (!enabled) return;
+        METRICS.get(algorithm).record(stats, pathLength, wallTimeNanos, found);
+    }
+
+    // recording can be switched off for bulk runs such as tournaments, where every search on every
+    // thread would otherwise contend on the same counters
+    public static void setEnabled(boolean enabled) {
+        PathfinderMetrics.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void resetAll() {
+        for (AlgorithmMetrics metrics : METRICS.values()) {
+            metrics.reset();
+        }
+    }
+
+    // one line per algorithm that has been called, for logs and debug overlays
+    public static String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (AlgorithmMetrics metrics : METRICS.values()) {
+            if (metrics.getCalls() == 0) continue;
+            if (sb.length() > 0) sb.append('\n');
+            sb.append(metrics);
+        }
+        return sb.toString();
+    }
+}
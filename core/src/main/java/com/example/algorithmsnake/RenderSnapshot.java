@@ -0,0 +1,138 @@
+package com.example.algorithmsnake;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// what a renderer needs of one tick, copied out of the engine into flat arrays so it can be drawn
+// on another thread while the next tick runs. snakes are keyed by their engine id and carry the
+// push and clear counts of their body, cells are packed as in SnakeBody, head first. filled by
+// capture, then read only: a SnapshotBuffer never refills one that a reader holds
+public final class RenderSnapshot {
+    final AtomicInteger readers = new AtomicInteger(); // held by SnapshotBuffer.acquire
+    private int arenaSize = GameEngine.GRID_WIDTH;
+    private long tick = 0;
+    private boolean gameOver = false;
+    private int eatableX = -1;
+    private int eatableY = -1;
+    private int snakeCount = 0;
+    private int[] keys = new int[4];
+    private int[] colors = new int[4];
+    private int[] scores = new int[4];
+    private long[] pushCounts = new long[4];
+    private int[] clearCounts = new int[4];
+    private int[] offsets = new int[5]; // cells of snake i are offsets[i] until offsets[i + 1]
+    private int[] cells = new int[64];
+
+    public void capture(int arenaSize, long tick, List<Snake> snakes, Eatable eatable, boolean gameOver) {
+        this.arenaSize = arenaSize;
+        this.tick = tick;
+        this.gameOver = gameOver;
+        if (eatable != null && eatable.position != null) {
+            eatableX = eatable.position.x;
+            eatableY = eatable.position.y;
+        } else {
+            eatableX = -1;
+            eatableY = -1;
+        }
+        int count = snakes == null ? 0 : snakes.size();
+        ensureSnakes(count);
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            total += snakes.get(i).body.size();
+        }
+        if (total > cells.length) cells = new int[Math.max(total, cells.length * 2)];
+        snakeCount = count;
+        int next = 0;
+        for (int i = 0; i < count; i++) {
+            Snake snake = snakes.get(i);
+            SnakeBody body = snake.body;
+            keys[i] = snake.id;
+            colors[i] = snake.color;
+            scores[i] = snake.score;
+            pushCounts[i] = body.pushCount();
+            clearCounts[i] = body.clearCount();
+            offsets[i] = next;
+            for (int j = 0; j < body.size(); j++) {
+                cells[next++] = SnakeBody.pack(body.x(j), body.y(j));
+            }
+        }
+        offsets[count] = next;
+    }
+
+    private void ensureSnakes(int count) {
+        if (count <= keys.length) return;
+        int capacity = Math.max(count, keys.length * 2);
+        keys = Arrays.copyOf(keys, capacity);
+        colors = Arrays.copyOf(colors, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        pushCounts = Arrays.copyOf(pushCounts, capacity);
+        clearCounts = Arrays.copyOf(clearCounts, capacity);
+        offsets = Arrays.copyOf(offsets, capacity + 1);
+    }
+
+    public int getArenaSize() {
+        return arenaSize;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    // -1 when there is no eatable
+    public int getEatableX() {
+        return eatableX;
+    }
+
+    public int getEatableY() {
+        return eatableY;
+    }
+
+    public int getSnakeCount() {
+        return snakeCount;
+    }
+
+    // index of the snake with the key, -1 if it is not in the snapshot
+    public int indexOf(int key) {
+        for (int i = 0; i < snakeCount; i++) {
+            if (keys[i] == key) return i;
+        }
+        return -1;
+    }
+
+    public int getKey(int snake) {
+        return keys[snake];
+    }
+
+    public int getColor(int snake) {
+        return colors[snake];
+    }
+
+    public int getScore(int snake) {
+        return scores[snake];
+    }
+
+    public long getPushCount(int snake) {
+        return pushCounts[snake];
+    }
+
+    public int getClearCount(int snake) {
+        return clearCounts[snake];
+    }
+
+    public int getLength(int snake) {
+        return offsets[snake + 1] - offsets[snake];
+    }
+
+    // segment i of the snake, 0 is the head
+    public int getX(int snake, int i) {
+        return cells[offsets[snake] + i] >> 16;
+    }
+
+    public int getY(int snake, int i) {
+        return (short) cells[offsets[snake] + i];
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.algorithmsnake;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// a replay written by ReplayRecorder, read into memory. see ReplayRecorder for the format
+public final class Replay {
+    private final long seed;
+    private final boolean parallel;
+    private final int tickMillis;
+    private final int searchExpansionLimit;
+    private final int arenaSize;
+    private final int[] snakeKinds;
+    private final boolean[] snakeOptimal;
+    private final Point[] snakeHeads;
+    private final int[] snakeColors;
+    private final Point firstEatable;
+    // events in file order, spawn positions already undeltaed
+    private long[] eventTicks = new long[64];
+    private int[] eventTypes = new int[64];
+    private int[] eventX = new int[64];
+    private int[] eventY = new int[64];
+    private int eventCount = 0;
+    private long lastTick = -1;
+
+    private Replay(DataInputStream in) throws IOException {
+        byte[] magic = new byte[4];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, ReplayRecorder.MAGIC)) throw new IOException("Not a replay file");
+        int version = in.readUnsignedByte();
+        if (version != ReplayRecorder.VERSION) throw new IOException("Unsupported replay version " + version);
+        seed = in.readLong();
+        parallel = (in.readUnsignedByte() & 1) != 0;
+        tickMillis = (int) Varint.readSigned(in);
+        searchExpansionLimit = (int) Varint.read(in);
+        arenaSize = (int) Varint.read(in);
+        int snakeCount = (int) Varint.read(in);
+        snakeKinds = new int[snakeCount];
+        snakeOptimal = new boolean[snakeCount];
+        snakeHeads = new Point[snakeCount];
+        snakeColors = new int[snakeCount];
+        for (int i = 0; i < snakeCount; i++) {
+            snakeKinds[i] = in.readUnsignedByte();
+            snakeOptimal[i] = in.readUnsignedByte() != 0;
+            snakeHeads[i] = new Point((int) Varint.read(in), (int) Varint.read(in));
+            snakeColors[i] = in.readInt();
+        }
+        firstEatable = new Point((int) Varint.read(in), (int) Varint.read(in));
+
+        long tick = 0;
+        int eatableX = firstEatable.x;
+        int eatableY = firstEatable.y;
+        while (lastTick < 0) {
+            long head = Varint.read(in);
+            tick += head >>> 2;
+            int type = (int) (head & 3);
+            int x = 0;
+            int y = 0;
+            if (type == ReplayRecorder.EVENT_DIRECTION) {
+                x = in.readUnsignedByte();
+            } else if (type == ReplayRecorder.EVENT_SPAWN) {
+                eatableX += (int) Varint.readSigned(in);
+                eatableY += (int) Varint.readSigned(in);
+                x = eatableX;
+                y = eatableY;
+            } else if (type == ReplayRecorder.EVENT_END) {
+                lastTick = tick;
+            } else {
+                throw new IOException("Unknown replay event " + type);
+            }
+            addEvent(tick, type, x, y);
+        }
+    }
+
+    public static Replay read(InputStream in) throws IOException {
+        return new Replay(new DataInputStream(in));
+    }
+
+    public static Replay read(byte[] bytes) throws IOException {
+        return read(new ByteArrayInputStream(bytes));
+    }
+
+    private void addEvent(long tick, int type, int x, int y) {
+        if (eventCount == eventTicks.length) {
+            int capacity = eventCount * 2;
+            eventTicks = Arrays.copyOf(eventTicks, capacity);
+            eventTypes = Arrays.copyOf(eventTypes, capacity);
+            eventX = Arrays.copyOf(eventX, capacity);
+            eventY = Arrays.copyOf(eventY, capacity);
+        }
+        eventTicks[eventCount] = tick;
+        eventTypes[eventCount] = type;
+        eventX[eventCount] = x;
+        eventY[eventCount] = y;
+        eventCount++;
+    }
+
+    // a fresh engine in the recorded starting state
+    public GameEngine newEngine() {
+        List<Snake> snakes = new ArrayList<>();
+        for (int i = 0; i < snakeKinds.length; i++) {
+            Snake.PathAlgorithm algorithm = snakeKinds[i] == 0 ? null : Snake.PathAlgorithm.values()[snakeKinds[i] - 1];
+            snakes.add(new Snake(new Point(snakeHeads[i].x, snakeHeads[i].y), snakeColors[i], algorithm, snakeOptimal[i], snakeKinds[i] != 0));
+        }
+        GameEngine engine = new GameEngine(snakes, tickMillis, seed, arenaSize);
+        engine.setPathfindingMode(parallel ? GameEngine.PathfindingMode.PARALLEL : GameEngine.PathfindingMode.SEQUENTIAL);
+        engine.setSearchExpansionLimit(searchExpansionLimit);
+        return engine;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getArenaSize() {
+        return arenaSize;
+    }
+
+    public long getLastTick() {
+        return lastTick;
+    }
+
+    public Point getFirstEatable() {
+        return firstEatable;
+    }
+
+    int getEventCount() {
+        return eventCount;
+    }
+
+    long getEventTick(int i) {
+        return eventTicks[i];
+    }
+
+    int getEventType(int i) {
+        return eventTypes[i];
+    }
+
+    int getEventX(int i) {
+        return eventX[i];
+    }
+
+    int getEventY(int i) {
+        return eventY[i];
+    }
+}
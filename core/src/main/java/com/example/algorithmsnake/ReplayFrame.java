@@ -0,0 +1,44 @@
+package com.example.algorithmsnake;
+import java.util.ArrayList;
+import java.util.List;
+
+// the board of a KeyframeReplay at one tick, decoded in place by seek and advance
+public final class ReplayFrame {
+    final Snake[] slots;
+    final boolean[] alive;
+    final Eatable eatable = new Eatable();
+    long tick = -1;
+    boolean gameOver = false;
+    int nextOffset; // start of the next delta in the replay
+
+    ReplayFrame(int[] kinds, int[] colors) {
+        slots = new Snake[kinds.length];
+        alive = new boolean[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            Snake.PathAlgorithm algorithm = kinds[i] == 0 ? null : Snake.PathAlgorithm.values()[kinds[i] - 1];
+            slots[i] = new Snake(new Point(0, 0), colors[i], algorithm, true, kinds[i] != 0);
+            slots[i].id = i; // as the engine numbers them, so render snapshots key them alike
+        }
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public Eatable getEatable() {
+        return eatable;
+    }
+
+    // the snakes alive at this tick
+    public List<Snake> getSnakes() {
+        List<Snake> snakes = new ArrayList<>(slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            if (alive[i]) snakes.add(slots[i]);
+        }
+        return snakes;
+    }
+}
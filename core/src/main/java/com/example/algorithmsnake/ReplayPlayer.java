@@ -0,0 +1,58 @@
+package com.example.algorithmsnake;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+// re-simulates a replay tick by tick: a fresh engine from the header, fed the recorded player inputs
+public final class ReplayPlayer {
+    private final Replay replay;
+    private final GameEngine engine;
+    private int nextEvent = 0;
+
+    public ReplayPlayer(Replay replay) {
+        this(replay, replay.newEngine());
+    }
+
+    private ReplayPlayer(Replay replay, GameEngine engine) {
+        this.replay = replay;
+        this.engine = engine;
+    }
+
+    // plays one tick, false once the last recorded tick has been played
+    public boolean step() {
+        if (isFinished()) return false;
+        long tick = engine.getTickCount() + 1;
+        while (nextEvent < replay.getEventCount() && replay.getEventTick(nextEvent) <= tick) {
+            if (replay.getEventTick(nextEvent) == tick && replay.getEventType(nextEvent) == ReplayRecorder.EVENT_DIRECTION) {
+                int index = replay.getEventX(nextEvent);
+                engine.forcePlayerDirection(new Point(ReplayRecorder.DIRECTION_X[index], ReplayRecorder.DIRECTION_Y[index]));
+            }
+            nextEvent++;
+        }
+        engine.update();
+        return true;
+    }
+
+    public boolean isFinished() {
+        return engine.isGameOver() || engine.getTickCount() >= replay.getLastTick();
+    }
+
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    // plays the whole replay while recording it again, true if that gives the same bytes
+    public static boolean verify(byte[] recorded) throws IOException {
+        Replay replay = Replay.read(recorded);
+        GameEngine engine = replay.newEngine();
+        ByteArrayOutputStream again = new ByteArrayOutputStream(recorded.length);
+        engine.startRecording(new ReplayRecorder(again));
+        ReplayPlayer player = new ReplayPlayer(replay, engine);
+        while (player.step()) {
+            // the engine records as it goes
+        }
+        engine.stopRecording();
+        engine.shutdown();
+        return Arrays.equals(recorded, again.toByteArray());
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.algorithmsnake;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// writes a game as a compact binary replay. the AI moves are not stored, they follow from the seed,
+// so the file only holds what came from outside the rules plus the spawns as checkpoints.
+//
+// header: "SNRP", version byte, seed (8 bytes), flags byte (bit 0: PARALLEL), zigzag varint tickMillis,
+// varint search expansion limit, varint arena size, varint snake count, per snake: kind byte (0 player, else
+// PathAlgorithm ordinal + 1), optimal byte, varint head x and y, color (4 bytes), then varint x and y
+// of the first eatable.
+// events: varint (ticks since the previous event << 2 | type), ticks without events cost nothing.
+//   type 0: player direction, one byte 0..3 in the order right, left, down, up
+//   type 1: eatable spawn, zigzag varint dx and dy from the previous eatable
+//   type 2: end of the replay, the tick delta leads to the last tick
+public final class ReplayRecorder {
+    static final byte[] MAGIC = {'S', 'N', 'R', 'P'};
+    static final int VERSION = 3; // 2: spawns drawn from the free cell index, 3: arena size
+    static final int EVENT_DIRECTION = 0;
+    static final int EVENT_SPAWN = 1;
+    static final int EVENT_END = 2;
+    static final int[] DIRECTION_X = {1, -1, 0, 0};
+    static final int[] DIRECTION_Y = {0, 0, 1, -1};
+
+    private final OutputStream out;
+    private long lastEventTick = 0;
+    private int lastEatableX;
+    private int lastEatableY;
+    private int lastDirection = -1;
+    private boolean finished = false;
+
+    // the stream is flushed but not closed when the replay ends
+    public ReplayRecorder(OutputStream out) {
+        this.out = out;
+    }
+
+    void writeHeader(GameEngine engine) {
+        try {
+            out.write(MAGIC);
+            out.write(VERSION);
+            long seed = engine.getSeed();
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (seed >>> shift));
+            }
+            out.write(engine.getPathfindingMode() == GameEngine.PathfindingMode.PARALLEL ? 1 : 0);
+            Varint.writeSigned(out, engine.getTickMillis());
+            Varint.write(out, engine.getSearchExpansionLimit());
+            Varint.write(out, engine.getArenaSize());
+            Varint.write(out, engine.getSnakes().size());
+            for (Snake snake : engine.getSnakes()) {
+                out.write(snake.isAi && snake.algorithm != null ? snake.algorithm.ordinal() + 1 : 0);
+                out.write(snake.optimal ? 1 : 0);
+                Varint.write(out, snake.getHead().x);
+                Varint.write(out, snake.getHead().y);
+                for (int shift = 24; shift >= 0; shift -= 8) {
+                    out.write(snake.color >>> shift);
+                }
+                if (!snake.isAi) lastDirection = directionIndex(snake.direction);
+            }
+            Point eatable = engine.getEatable().position;
+            Varint.write(out, eatable.x);
+            Varint.write(out, eatable.y);
+            lastEatableX = eatable.x;
+            lastEatableY = eatable.y;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // called every tick, only changes are written
+    void onPlayerDirection(long tick, Point direction) {
+        int index = directionIndex(direction);
+        if (finished || index == lastDirection || index < 0) return;
+        try {
+            writeEventStart(tick, EVENT_DIRECTION);
+            out.write(index);
+            lastDirection = index;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void onEatableSpawn(long tick, Point position) {
+        if (finished) return;
+        try {
+            writeEventStart(tick, EVENT_SPAWN);
+            Varint.writeSigned(out, position.x - lastEatableX);
+            Varint.writeSigned(out, position.y - lastEatableY);
+            lastEatableX = position.x;
+            lastEatableY = position.y;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void finish(long tick) {
+        if (finished) return;
+        finished = true;
+        try {
+            writeEventStart(tick, EVENT_END);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeEventStart(long tick, int type) throws IOException {
+        Varint.write(out, (tick - lastEventTick) << 2 | type);
+        lastEventTick = tick;
+    }
+
+    static int directionIndex(Point direction) {
+        if (direction == null) return -1;
+        for (int i = 0; i < DIRECTION_X.length; i++) {
+            if (direction.x == DIRECTION_X[i] && direction.y == DIRECTION_Y[i]) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.algorithmsnake;
+
+// limit on the work of one Pathfinder call, in expanded nodes and/or a System.nanoTime deadline.
+// a budgeted search that runs out, or cannot reach the eatable at all, returns the path to the
+// node closest to the eatable found so far instead of an empty list (see SearchStats.isPartial)
+public final class SearchBudget {
+    public static final int NO_EXPANSION_LIMIT = Integer.MAX_VALUE;
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final int CLOCK_CHECK_MASK = 63; // read the clock every 64 expansions
+
+    private final int maxExpansions;
+    private final long deadlineNanos;
+
+    public SearchBudget(int maxExpansions, long deadlineNanos) {
+        this.maxExpansions = maxExpansions;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    // budget whose deadline starts counting now
+    public static SearchBudget of(int maxExpansions, long timeNanos) {
+        return new SearchBudget(maxExpansions, System.nanoTime() + timeNanos);
+    }
+
+    public int getMaxExpansions() {
+        return maxExpansions;
+    }
+
+    public long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    boolean isExhausted(int expanded) {
+        if (expanded >= maxExpansions) return true;
+        return deadlineNanos != NO_DEADLINE && (expanded & CLOCK_CHECK_MASK) == 0 && System.nanoTime() >= deadlineNanos;
+    }
+}
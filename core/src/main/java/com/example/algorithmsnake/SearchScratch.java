@@ -0,0 +1,126 @@
+package com.example.algorithmsnake;
+
+// reusable per-thread scratch memory for the grid searches in Pathfinder.
+// cells are packed int indices, a cell's g/parent entries are only valid while its stamp
+// equals the current epoch, so nothing has to be cleared between searches
+final class SearchScratch {
+    private static final ThreadLocal<SearchScratch> LOCAL = ThreadLocal.withInitial(SearchScratch::new);
+    // second set for the backward half of bidirectional searches
+    private static final ThreadLocal<SearchScratch> REVERSE = ThreadLocal.withInitial(SearchScratch::new);
+
+    int[] g = new int[0];
+    int[] parent = new int[0];
+    private int[] seenStamp = new int[0];
+    private int[] closedStamp = new int[0];
+    private int epoch = 0;
+
+    // fifo for bfs, sized to the grid so every cell fits once
+    int[] fifo = new int[0];
+
+    // bucket queue for the unit cost searches (a*, dijkstra, jps)
+    final BucketQueue buckets = new BucketQueue();
+
+    // binary min heap of packed (priority << 32 | cell) entries, used where the queue minimum is peeked
+    private long[] heap = new long[64];
+    private int heapSize = 0;
+
+    static SearchScratch get() {
+        return LOCAL.get();
+    }
+
+    static SearchScratch getReverse() {
+        return REVERSE.get();
+    }
+
+    // prepares the scratch arrays for a new search over cellCount cells
+    void begin(int cellCount) {
+        if (g.length < cellCount) {
+            g = new int[cellCount];
+            parent = new int[cellCount];
+            seenStamp = new int[cellCount];
+            closedStamp = new int[cellCount];
+            fifo = new int[cellCount];
+            epoch = 0;
+        }
+        epoch++;
+        if (epoch == Integer.MAX_VALUE) {
+            // stamps would wrap around, start over with clean arrays
+            java.util.Arrays.fill(seenStamp, 0);
+            java.util.Arrays.fill(closedStamp, 0);
+            epoch = 1;
+        }
+        heapSize = 0;
+        buckets.clear();
+    }
+
+    boolean isSeen(int cell) {
+        return seenStamp[cell] == epoch;
+    }
+
+    void markSeen(int cell, int gCost, int parentCell) {
+        seenStamp[cell] = epoch;
+        g[cell] = gCost;
+        parent[cell] = parentCell;
+    }
+
+    boolean isClosed(int cell) {
+        return closedStamp[cell] == epoch;
+    }
+
+    void markClosed(int cell) {
+        closedStamp[cell] = epoch;
+    }
+
+    boolean heapIsEmpty() {
+        return heapSize == 0;
+    }
+
+    void heapPush(int priority, int cell) {
+        if (heapSize == heap.length) {
+            heap = java.util.Arrays.copyOf(heap, heap.length * 2);
+        }
+        long entry = ((long) priority << 32) | (cell & 0xFFFFFFFFL);
+        int i = heapSize++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heap[p] <= entry) break;
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = entry;
+    }
+
+    int heapSize() {
+        return heapSize;
+    }
+
+    // priority of the smallest entry, may belong to a stale entry so it is a lower bound
+    int heapPeekPriority() {
+        return entryPriority(heap[0]);
+    }
+
+    // removes the smallest entry and returns it packed, use entryPriority/entryCell to unpack
+    long heapPoll() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int c = 2 * i + 1;
+            if (c + 1 < heapSize && heap[c + 1] < heap[c]) c++;
+            if (last <= heap[c]) break;
+            heap[i] = heap[c];
+            i = c;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    static int entryPriority(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    static int entryCell(long entry) {
+        return (int) entry;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.algorithmsnake;
+
+// per-thread counters of the last search Pathfinder ran on the calling thread
+public final class SearchStats {
+    private static final ThreadLocal<SearchStats> LOCAL = ThreadLocal.withInitial(SearchStats::new);
+
+    private int expanded;
+    private int enqueued;
+    private int peakQueue;
+    private boolean partial;
+
+    private SearchStats() {}
+
+    static SearchStats reset() {
+        SearchStats stats = LOCAL.get();
+        stats.expanded = 0;
+        stats.enqueued = 0;
+        stats.peakQueue = 0;
+        stats.partial = false;
+        return stats;
+    }
+
+    static SearchStats current() {
+        return LOCAL.get();
+    }
+
+    void onExpand() {
+        expanded++;
+    }
+
+    void onEnqueue(int queueSize) {
+        enqueued++;
+        if (queueSize > peakQueue) peakQueue = queueSize;
+    }
+
+    void markPartial() {
+        partial = true;
+    }
+
+    // a copy that outlives the next reset, for searches run on one thread and counted on another
+    SearchStats copy() {
+        SearchStats copy = new SearchStats();
+        copy.add(this);
+        return copy;
+    }
+
+    void add(SearchStats other) {
+        expanded += other.expanded;
+        enqueued += other.enqueued;
+        peakQueue = Math.max(peakQueue, other.peakQueue);
+        partial |= other.partial;
+    }
+
+    // nodes taken off the open set and expanded
+    public int getExpanded() {
+        return expanded;
+    }
+
+    // pushes onto the open set, for the heap based searches these are the priority queue insertions
+    public int getEnqueued() {
+        return enqueued;
+    }
+
+    public int getPeakQueue() {
+        return peakQueue;
+    }
+
+    // true if a budgeted search returned a path that stops short of the eatable
+    public boolean isPartial() {
+        return partial;
+    }
+}
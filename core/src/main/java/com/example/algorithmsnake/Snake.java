@@ -0,0 +1,101 @@
+package com.example.algorithmsnake;
+import java.util.List;
+
+//class for snake object
+public class Snake {
+    public enum PathAlgorithm { ASTAR, BFS, DIJKSTRA, BFS_BIDIRECTIONAL, ASTAR_BIDIRECTIONAL, JPS, FLOW_FIELD, DSTAR_LITE }
+    public final SnakeBody body = new SnakeBody();
+    public Point direction;
+    public int color;
+    public PathAlgorithm algorithm;
+    public boolean optimal;
+    public int score = 0;
+    public boolean isAi;
+    // path planned on an earlier tick, followed until it breaks or the eatable moves
+    private List<Point> plannedPath;
+    private int plannedStep = 0;
+    private Point plannedTarget;
+    public int replans = 0;
+    public int reuses = 0;
+    public long deathTick = -1; // tick the snake was removed on, -1 while alive
+    DStarLite dStarLite; // search tree of DSTAR_LITE snakes, kept between ticks
+    int id = -1; // index in the lineup of the engine the snake plays in
+
+    public Snake(Point start, int color, PathAlgorithm algorithm, boolean optimal, boolean isAi) {
+        this.color = color;
+        this.algorithm = algorithm;
+        this.optimal = optimal;
+        this.isAi = isAi;
+        this.direction = new Point(1, 0);
+
+        for (int i = 0; i < 3; i++) {
+            body.addTail(start.x - i, start.y);
+        }
+    }
+
+    public Point getHead() {
+        if (body.isEmpty()) {
+            return new Point(-1, -1);
+        }
+        return body.get(0);
+    }
+
+    public void setDirectionTowards(Point nextMove) {
+        if (nextMove == null || body.isEmpty()) return;
+        int dx = Integer.compare(nextMove.x, body.headX());
+        int dy = Integer.compare(nextMove.y, body.headY());
+        this.direction = new Point(dx, dy);
+    }
+
+    public void move() {
+        if (body.isEmpty()) return;
+        int x = body.headX() + direction.x;
+        int y = body.headY() + direction.y;
+        body.popTail();
+        body.pushHead(x, y);
+    }
+
+    public void setPlan(List<Point> path, Point target) {
+        this.plannedPath = path;
+        this.plannedStep = 0;
+        this.plannedTarget = target == null ? null : new Point(target.x, target.y);
+    }
+
+    public void clearPlan() {
+        plannedPath = null;
+        plannedTarget = null;
+    }
+
+    public Point nextPlannedStep() {
+        if (plannedPath == null || plannedStep >= plannedPath.size()) return null;
+        return plannedPath.get(plannedStep);
+    }
+
+    public void advancePlan() {
+        if (plannedPath != null) plannedStep++;
+    }
+
+    // the plan can be reused if it still leads to the same target, starts next to the head
+    // and its next checkSteps cells are free, cells further ahead are checked on later ticks
+    public boolean isPlanValid(Point target, OccupancyGrid occupancy, int checkSteps) {
+        if (plannedPath == null || plannedTarget == null || !plannedTarget.equals(target)) return false;
+        if (plannedStep >= plannedPath.size() || body.isEmpty()) return false;
+        Point next = plannedPath.get(plannedStep);
+        if (Math.abs(next.x - body.headX()) + Math.abs(next.y - body.headY()) != 1) return false;
+        int last = Math.min(plannedPath.size(), plannedStep + checkSteps);
+        for (int i = plannedStep; i < last; i++) {
+            Point p = plannedPath.get(i);
+            if (occupancy.isBlocked(p.x, p.y, this)) return false;
+        }
+        return true;
+    }
+
+    public void eatEatable() {
+        grow();
+        score++;
+    }
+
+    public void grow() {
+        body.growTail();
+    }
+}
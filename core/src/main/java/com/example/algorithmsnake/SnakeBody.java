@@ -0,0 +1,135 @@
+package com.example.algorithmsnake;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+// body of a snake, head first, as a ring buffer of packed cells so moving and growing are O(1)
+// whatever the length. as a List it is a read-only view that creates a Point per get, loops
+// that run every tick read x(i) and y(i) instead
+public final class SnakeBody extends AbstractList<Point> implements RandomAccess {
+    private int[] cells; // x in the high 16 bits, y in the low 16 bits, capacity is a power of two
+    private int head = 0; // index of the head in cells
+    private int size = 0;
+    private long pushCount = 0; // heads pushed since creation, never goes back
+    private int clearCount = 0;
+
+    SnakeBody() {
+        cells = new int[16];
+    }
+
+    static int pack(int x, int y) {
+        return (x << 16) | (y & 0xFFFF);
+    }
+
+    private int cell(int i) {
+        return cells[(head + i) & (cells.length - 1)];
+    }
+
+    public int x(int i) {
+        checkIndex(i);
+        return cell(i) >> 16;
+    }
+
+    public int y(int i) {
+        checkIndex(i);
+        return (short) cell(i);
+    }
+
+    public int headX() {
+        return x(0);
+    }
+
+    public int headY() {
+        return y(0);
+    }
+
+    public int tailX() {
+        return x(size - 1);
+    }
+
+    public int tailY() {
+        return y(size - 1);
+    }
+
+    @Override
+    public Point get(int i) {
+        checkIndex(i);
+        int packed = cell(i);
+        return new Point(packed >> 16, (short) packed);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // with clearCount lets a renderer tell how far the body moved since it last looked: after k
+    // more pushes and no clear, the cells it saw start at index k
+    public long pushCount() {
+        return pushCount;
+    }
+
+    public int clearCount() {
+        return clearCount;
+    }
+
+    // new head in front of the old one
+    void pushHead(int x, int y) {
+        ensureCapacity(size + 1);
+        head = (head - 1) & (cells.length - 1);
+        cells[head] = pack(x, y);
+        size++;
+        pushCount++;
+        modCount++;
+    }
+
+    void popTail() {
+        if (size == 0) return;
+        size--;
+        modCount++;
+    }
+
+    // new segment behind the tail, a grown tail stacks on the old one until the snake moves
+    void addTail(int x, int y) {
+        ensureCapacity(size + 1);
+        cells[(head + size) & (cells.length - 1)] = pack(x, y);
+        size++;
+        modCount++;
+    }
+
+    void growTail() {
+        if (size == 0) return;
+        addTail(tailX(), tailY());
+    }
+
+    @Override
+    public void clear() {
+        head = 0;
+        size = 0;
+        clearCount++;
+        modCount++;
+    }
+
+    // replaces the body with the given cells, head first
+    void reset(List<Point> points) {
+        clear();
+        for (int i = 0; i < points.size(); i++) {
+            Point p = points.get(i);
+            addTail(p.x, p.y);
+        }
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= cells.length) return;
+        int[] grown = new int[Integer.highestOneBit(needed - 1) << 1];
+        for (int i = 0; i < size; i++) {
+            grown[i] = cell(i);
+        }
+        cells = grown;
+        head = 0;
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("Index " + i + ", size " + size);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.algorithmsnake;
+import java.util.concurrent.atomic.AtomicReference;
+
+// hands RenderSnapshots from one writer thread to any number of reader threads without locks.
+// the writer fills the back snapshot and publishes it as the front one, the old front becomes the
+// back. readers acquire the front and release it when done; a back snapshot a reader still holds
+// is not refilled but replaced by a new one, so what a reader sees never changes under it
+public final class SnapshotBuffer {
+    private final AtomicReference<RenderSnapshot> front = new AtomicReference<>();
+    private RenderSnapshot back = new RenderSnapshot(); // writer only
+
+    // the snapshot to fill before publish, writer only
+    public RenderSnapshot beginWrite() {
+        if (back.readers.get() != 0) back = new RenderSnapshot();
+        return back;
+    }
+
+    // makes the snapshot of beginWrite the one readers get
+    public void publish() {
+        RenderSnapshot published = back;
+        back = front.getAndSet(published);
+        if (back == null) back = new RenderSnapshot();
+    }
+
+    // the latest published snapshot, null before the first publish. every snapshot acquired
+    // must be released
+    public RenderSnapshot acquire() {
+        while (true) {
+            RenderSnapshot snapshot = front.get();
+            if (snapshot == null) return null;
+            snapshot.readers.incrementAndGet();
+            // still the front, so the writer saw the reader before it could pick it as back
+            if (front.get() == snapshot) return snapshot;
+            snapshot.readers.decrementAndGet();
+        }
+    }
+
+    public void release(RenderSnapshot snapshot) {
+        if (snapshot != null) snapshot.readers.decrementAndGet();
+    }
+}
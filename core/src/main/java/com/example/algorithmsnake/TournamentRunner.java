@@ -0,0 +1,129 @@
+package com.example.algorithmsnake;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// plays many independent AI-only games with the GameEngine rules on all cores, without rendering or
+// tick delays. game i uses the seed baseSeed + i for its turn order and every random choice inside
+// the game, searches run without a time budget so results do not depend on the machine
+public final class TournamentRunner {
+    private static final int DEFAULT_MAX_TICKS = 20_000; // games still running then end as a draw
+
+    private final List<Snake.PathAlgorithm> lineup;
+    private final int games;
+    private final long baseSeed;
+    private final int maxTicks;
+    private final int threads;
+    private final int arenaSize;
+    private boolean recordMetrics = false;
+
+    public TournamentRunner(List<Snake.PathAlgorithm> lineup, int games, long baseSeed, int maxTicks, int threads) {
+        this(lineup, games, baseSeed, maxTicks, threads, GameEngine.GRID_WIDTH);
+    }
+
+    public TournamentRunner(List<Snake.PathAlgorithm> lineup, int games, long baseSeed, int maxTicks, int threads, int arenaSize) {
+        if (lineup.size() < 2) throw new IllegalArgumentException("A match needs at least two snakes");
+        this.lineup = new ArrayList<>(lineup);
+        this.games = games;
+        this.baseSeed = baseSeed;
+        this.maxTicks = maxTicks;
+        this.threads = Math.max(1, threads);
+        this.arenaSize = arenaSize;
+    }
+
+    // pathfinder metrics are off while the games run unless asked for, the switch is process wide
+    public void setRecordMetrics(boolean recordMetrics) {
+        this.recordMetrics = recordMetrics;
+    }
+
+    public TournamentStats run() throws InterruptedException {
+        TournamentStats stats = new TournamentStats();
+        boolean metricsWereEnabled = PathfinderMetrics.isEnabled();
+        PathfinderMetrics.setEnabled(recordMetrics);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "tournament-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                long seed = baseSeed + i;
+                tasks.add(() -> {
+                    playGame(seed, stats);
+                    return null;
+                });
+            }
+            for (Future<Void> result : pool.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tournament game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            PathfinderMetrics.setEnabled(metricsWereEnabled);
+        }
+        stats.setElapsedNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    private void playGame(long seed, TournamentStats stats) {
+        List<Snake> snakes = createSnakes(new Random(seed));
+        GameEngine engine = new GameEngine(snakes, 0, seed, arenaSize);
+        while (!engine.isGameOver() && engine.getTickCount() < maxTicks) {
+            engine.update();
+        }
+        List<Snake> alive = engine.getSnakes();
+        Snake winner = engine.isGameOver() && alive.size() == 1 ? alive.get(0) : null;
+        stats.addGame(snakes, winner, engine.getTickCount());
+        engine.shutdown();
+    }
+
+    // the lineup in a shuffled turn order, spread over the rows of the board and heading right
+    private List<Snake> createSnakes(Random random) {
+        List<Snake.PathAlgorithm> order = new ArrayList<>(lineup);
+        Collections.shuffle(order, random);
+        List<Snake> snakes = new ArrayList<>();
+        int rows = order.size() + 1;
+        for (int i = 0; i < order.size(); i++) {
+            int x = (i % 2 == 0) ? arenaSize / 4 : arenaSize * 3 / 4;
+            int y = 1 + (i + 1) * (arenaSize - 3) / rows;
+            snakes.add(new Snake(new Point(x, y), Lineup.colorOf(order.get(i)), order.get(i), true, true));
+        }
+        return snakes;
+    }
+
+    // usage: TournamentRunner [games] [seed] [threads] [csv file] [algorithm,algorithm,...] [arena size]
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        List<Snake.PathAlgorithm> lineup = new ArrayList<>(Arrays.asList(Snake.PathAlgorithm.values()));
+        if (args.length > 4) {
+            lineup.clear();
+            for (String name : args[4].split(",")) {
+                lineup.add(Snake.PathAlgorithm.valueOf(name.trim()));
+            }
+        }
+        int arenaSize = args.length > 5 ? Integer.parseInt(args[5]) : GameEngine.GRID_WIDTH;
+        TournamentStats stats = new TournamentRunner(lineup, games, seed, DEFAULT_MAX_TICKS, threads, arenaSize).run();
+        System.out.print(stats);
+        if (args.length > 3) {
+            Files.write(Paths.get(args[3]), stats.toCsv().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
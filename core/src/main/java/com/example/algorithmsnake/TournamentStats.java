@@ -0,0 +1,131 @@
+package com.example.algorithmsnake;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// results of a tournament per Snake.PathAlgorithm, filled by TournamentRunner
+public final class TournamentStats {
+    // totals of one algorithm over all games it played
+    public static final class Standing {
+        private final Snake.PathAlgorithm algorithm;
+        private long games;
+        private long wins;
+        private long totalScore;
+        private long totalSurvivalTicks;
+        private int bestScore;
+
+        Standing(Snake.PathAlgorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        void add(boolean won, int score, long survivalTicks) {
+            games++;
+            if (won) wins++;
+            totalScore += score;
+            totalSurvivalTicks += survivalTicks;
+            bestScore = Math.max(bestScore, score);
+        }
+
+        public Snake.PathAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getWins() {
+            return wins;
+        }
+
+        public double getWinRate() {
+            return games == 0 ? 0 : (double) wins / games;
+        }
+
+        public double getMeanScore() {
+            return games == 0 ? 0 : (double) totalScore / games;
+        }
+
+        public int getBestScore() {
+            return bestScore;
+        }
+
+        // ticks until the snake died, or until the game ended if it survived
+        public double getMeanSurvivalTicks() {
+            return games == 0 ? 0 : (double) totalSurvivalTicks / games;
+        }
+    }
+
+    private final Map<Snake.PathAlgorithm, Standing> standings = new EnumMap<>(Snake.PathAlgorithm.class);
+    private long games;
+    private long draws; // no snake or more than one snake left at the end
+    private long totalTicks;
+    private long elapsedNanos;
+
+    // called once per finished game, the lineup snakes still hold their final state
+    synchronized void addGame(Iterable<Snake> lineup, Snake winner, long ticks) {
+        games++;
+        totalTicks += ticks;
+        if (winner == null) draws++;
+        for (Snake snake : lineup) {
+            Standing standing = standings.computeIfAbsent(snake.algorithm, Standing::new);
+            long survival = snake.deathTick >= 0 ? snake.deathTick : ticks;
+            standing.add(snake == winner, snake.score, survival);
+        }
+    }
+
+    synchronized void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public synchronized Map<Snake.PathAlgorithm, Standing> getStandings() {
+        return new EnumMap<>(standings);
+    }
+
+    public synchronized long getGames() {
+        return games;
+    }
+
+    public synchronized long getDraws() {
+        return draws;
+    }
+
+    public synchronized long getTotalTicks() {
+        return totalTicks;
+    }
+
+    public synchronized double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    public synchronized double getTicksPerSecond() {
+        return elapsedNanos == 0 ? 0 : totalTicks * 1e9 / elapsedNanos;
+    }
+
+    // one csv row per algorithm
+    public synchronized String toCsv() {
+        StringBuilder sb = new StringBuilder("algorithm,games,wins,win_rate,mean_score,best_score,mean_survival_ticks\n");
+        for (Standing s : standings.values()) {
+            sb.append(s.getAlgorithm()).append(',')
+                    .append(s.getGames()).append(',')
+                    .append(s.getWins()).append(',')
+                    .append(String.format(Locale.ROOT, "%.4f", s.getWinRate())).append(',')
+                    .append(String.format(Locale.ROOT, "%.3f", s.getMeanScore())).append(',')
+                    .append(s.getBestScore()).append(',')
+                    .append(String.format(Locale.ROOT, "%.1f", s.getMeanSurvivalTicks())).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d games, %d draws, %.1f games/s, %.0f ticks/s%n",
+                games, draws, getGamesPerSecond(), getTicksPerSecond()));
+        for (Standing s : standings.values()) {
+            sb.append(String.format("%-20s win rate %5.1f%%, score avg %.2f max %d, survival avg %.0f ticks%n",
+                    s.getAlgorithm(), s.getWinRate() * 100, s.getMeanScore(), s.getBestScore(), s.getMeanSurvivalTicks()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.algorithmsnake
+
+import java.util.Random
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Moves a [Snake.PathAlgorithm.DSTAR_LITE] snake through an arena where obstacles come and go and
+ * checks that every [Pathfinder.dStarLite] path is as short as [Pathfinder.aStar] and passable.
+ */
+class DStarLiteTest {
+    private val minPos = 1
+    private val maxPos = 40
+
+    private fun assertPassable(snake: Snake, eatable: Eatable, occupancy: OccupancyGrid, path: List<Point>) {
+        var x = snake.body.headX()
+        var y = snake.body.headY()
+        for (step in path) {
+            assertEquals("$step is no neighbour of ($x, $y)", 1, Math.abs(step.x - x) + Math.abs(step.y - y))
+            assertFalse("$step is blocked", occupancy.isBlocked(step.x, step.y, snake))
+            x = step.x
+            y = step.y
+        }
+        if (path.isNotEmpty()) assertEquals(eatable.position, path.last())
+    }
+
+    @Test
+    fun repairedPathsMatchAStar() {
+        var dStarExpanded = 0L
+        var aStarExpanded = 0L
+        for (seed in 1L..5L) {
+            val random = Random(seed)
+            val walker = Snake(Point(10, 10), GameEngine.COLOR_GREEN, Snake.PathAlgorithm.DSTAR_LITE, true, true)
+            val occupancy = OccupancyGrid(minPos, maxPos, true)
+            occupancy.addBody(walker.body)
+            val obstacles = ArrayList<Point>()
+            val eatable = Eatable(random)
+            eatable.spawn(occupancy)
+            for (step in 0 until 3000) {
+                val path = Pathfinder.dStarLite(walker, eatable, occupancy, true, minPos, maxPos)
+                dStarExpanded += Pathfinder.lastSearchStats().expanded
+                val shortest = Pathfinder.aStar(walker, eatable, occupancy, true, minPos, maxPos)
+                aStarExpanded += Pathfinder.lastSearchStats().expanded
+                assertEquals("seed $seed step $step", shortest.size, path.size)
+                assertPassable(walker, eatable, occupancy, path)
+                if (path.isEmpty()) {
+                    // walled in, start over somewhere free
+                    occupancy.removeBody(walker.body)
+                    walker.body.reset(listOf(occupancy.randomFreeCell(random)))
+                    occupancy.addBody(walker.body)
+                    eatable.spawn(occupancy)
+                    continue
+                }
+                val tailX = walker.body.tailX()
+                val tailY = walker.body.tailY()
+                walker.setDirectionTowards(path[0])
+                walker.move()
+                occupancy.remove(tailX, tailY)
+                occupancy.add(walker.body.headX(), walker.body.headY())
+                val ate = walker.getHead() == eatable.position
+                if (ate || random.nextInt(50) == 0) {
+                    walker.grow()
+                    occupancy.add(walker.body.tailX(), walker.body.tailY())
+                }
+                if (ate || random.nextInt(100) == 0) eatable.spawn(occupancy)
+                val change = random.nextInt(10)
+                if (change < 3 && obstacles.size < 150) {
+                    val cell = occupancy.randomFreeCell(random)
+                    if (cell != eatable.position) {
+                        occupancy.add(cell)
+                        obstacles.add(cell)
+                    }
+                } else if (change < 6 && obstacles.isNotEmpty()) {
+                    occupancy.remove(obstacles.removeAt(random.nextInt(obstacles.size)))
+                }
+            }
+        }
+        // repairs touch a fraction of what a fresh search expands
+        assertTrue("D* Lite $dStarExpanded, A* $aStarExpanded", dStarExpanded * 2 < aStarExpanded)
+    }
+
+    @Test
+    fun overflowedChangeLogStartsOver() {
+        val walker = Snake(Point(5, 20), GameEngine.COLOR_GREEN, Snake.PathAlgorithm.DSTAR_LITE, true, true)
+        val occupancy = OccupancyGrid(minPos, maxPos)
+        occupancy.addBody(walker.body)
+        val eatable = Eatable()
+        eatable.position = Point(35, 20)
+        val open = Pathfinder.dStarLite(walker, eatable, occupancy, true, minPos, maxPos)
+        for (y in 5..35) occupancy.add(20, y)
+        // the wall drops out of the log, the search tree cannot be repaired from it
+        val wallBuilt = occupancy.changeCount
+        while (occupancy.changeCount - wallBuilt <= OccupancyGrid.CHANGE_LOG_SIZE) {
+            occupancy.add(1, 1)
+            occupancy.remove(1, 1)
+        }
+        assertFalse(occupancy.hasChangesSince(wallBuilt))
+        val path = Pathfinder.dStarLite(walker, eatable, occupancy, true, minPos, maxPos)
+        assertTrue(path.size > open.size)
+        assertEquals(Pathfinder.aStar(walker, eatable, occupancy, true, minPos, maxPos).size, path.size)
+        assertPassable(walker, eatable, occupancy, path)
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.algorithmsnake
+
+import java.util.Random
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Fills the board cell by cell and checks that [Eatable.spawn] only lands on free cells, finds
+ * the last free one, and reports a full board.
+ */
+class EatableSpawnTest {
+    private val minPos = 1
+    private val maxPos = 20
+
+    @Test
+    fun spawnsOnFreeCellsUntilTheBoardIsFull() {
+        val occupancy = OccupancyGrid(minPos, maxPos, true)
+        val eatable = Eatable(Random(3))
+        val cells = (minPos..maxPos).flatMap { y -> (minPos..maxPos).map { x -> Point(x, y) } }.shuffled(Random(5))
+        for ((filled, cell) in cells.withIndex()) {
+            assertEquals(cells.size - filled, occupancy.freeCellCount)
+            assertTrue(eatable.spawn(occupancy))
+            assertFalse(occupancy.isOccupied(eatable.position.x, eatable.position.y))
+            occupancy.add(cell)
+        }
+        assertFalse(eatable.spawn(occupancy))
+        assertEquals(Point(-1, -1), eatable.position)
+
+        occupancy.remove(cells[17])
+        assertTrue(eatable.spawn(occupancy))
+        assertEquals(cells[17], eatable.position)
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.algorithmsnake
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+/**
+ * Polls a [FixedTimestep] at display-like rates and checks the tick count follows the clock,
+ * and that a stall is caught up only up to the limit with the rest counted as dropped.
+ */
+class FixedTimestepTest {
+    private val step = 25_000_000L
+
+    @Test
+    fun tickRateDoesNotDependOnPollRate() {
+        for (frameNanos in listOf(8_333_333L, 16_666_667L, 33_333_333L, 40_000_000L)) {
+            val timestep = FixedTimestep(step, 4)
+            timestep.start(0)
+            var ticks = 0L
+            var now = 0L
+            while (now < 10_000_000_000L) {
+                now += frameNanos
+                ticks += timestep.advance(now)
+            }
+            assertEquals(now / step, ticks)
+            assertEquals(0, timestep.droppedSteps)
+        }
+    }
+
+    @Test
+    fun stallIsCaughtUpToTheLimit() {
+        val timestep = FixedTimestep(step, 4)
+        timestep.start(0)
+        assertEquals(0, timestep.advance(step - 1))
+        assertEquals(1, timestep.advance(step))
+        // ten steps late: four run, six are dropped, the fraction of a step is kept
+        assertEquals(4, timestep.advance(11 * step + step / 2))
+        assertEquals(6, timestep.droppedSteps)
+        assertEquals(step / 2, timestep.nanosUntilNextStep())
+        assertEquals(1, timestep.advance(12 * step))
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.algorithmsnake
+
+import java.util.Random
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Checks that [Pathfinder.jps] finds paths as short as [Pathfinder.aStar] with fewer queue
+ * pushes, on a few obstacle chains and on random boards.
+ */
+class JumpPointSearchTest {
+    private val minPos = 1
+    private val maxPos = 98
+    private val directions = listOf(Point(1, 0), Point(-1, 0), Point(0, 1), Point(0, -1))
+
+    @Test
+    fun jpsMatchesAStarWithFewerQueuePushes() {
+        val searcher = Snake(Point(5, 5), GameEngine.COLOR_GREEN, Snake.PathAlgorithm.JPS, true, true)
+        // a few obstacle chains across the open arena
+        val chains = (0 until 3).map { i ->
+            Snake(Point(20, 20), GameEngine.COLOR_RED, Snake.PathAlgorithm.BFS, true, true).also { chain ->
+                chain.body.reset((10..80).map { Point(20 + i * 25, it) })
+            }
+        }
+        val occupancy = OccupancyGrid(minPos, maxPos)
+        occupancy.rebuild(listOf(searcher) + chains)
+        val targets = listOf(Point(95, 50), Point(90, 90), Point(40, 5), Point(60, 95))
+        var aStarPushes = 0
+        var jpsPushes = 0
+        for (target in targets) {
+            val eatable = Eatable()
+            eatable.position = target
+            val aStarPath = Pathfinder.aStar(searcher, eatable, occupancy, true, minPos, maxPos)
+            aStarPushes += Pathfinder.lastSearchStats().enqueued
+            val jpsPath = Pathfinder.jps(searcher, eatable, occupancy, true, minPos, maxPos)
+            jpsPushes += Pathfinder.lastSearchStats().enqueued
+            assertTrue(aStarPath.isNotEmpty())
+            assertEquals(aStarPath.size, jpsPath.size)
+            assertEquals(target, jpsPath.last())
+        }
+        assertTrue("A* $aStarPushes, JPS $jpsPushes", jpsPushes < aStarPushes)
+    }
+
+    @Test
+    fun jpsMatchesAStarOnRandomBoards() {
+        val random = Random(11)
+        val edge = 40
+        for (board in 0 until 300) {
+            val occupancy = OccupancyGrid(minPos, edge, true)
+            val searcher = Snake(
+                Point(3 + random.nextInt(edge - 2), minPos + random.nextInt(edge)),
+                GameEngine.COLOR_GREEN, Snake.PathAlgorithm.JPS, true, true
+            )
+            occupancy.addBody(searcher.body)
+            // random walks as bodies until the board is 5 to 40 percent full
+            val density = 0.05 + 0.35 * random.nextDouble()
+            while (occupancy.freeCellCount > (1 - density) * edge * edge) {
+                var cell = occupancy.randomFreeCell(random)
+                occupancy.add(cell)
+                for (i in 0 until 2 + random.nextInt(30)) {
+                    val direction = directions[random.nextInt(4)]
+                    val next = Point(cell.x + direction.x, cell.y + direction.y)
+                    if (next.x !in minPos..edge || next.y !in minPos..edge || occupancy.isOccupied(next.x, next.y)) break
+                    occupancy.add(next)
+                    cell = next
+                }
+            }
+            for (goal in 0 until 10) {
+                val eatable = Eatable(random)
+                eatable.spawn(occupancy)
+                val aStarPath = Pathfinder.aStar(searcher, eatable, occupancy, true, minPos, edge)
+                val jpsPath = Pathfinder.jps(searcher, eatable, occupancy, true, minPos, edge)
+                assertEquals("board $board goal $goal", aStarPath.size, jpsPath.size)
+                var x = searcher.body.headX()
+                var y = searcher.body.headY()
+                for (step in jpsPath) {
+                    assertEquals(1, Math.abs(step.x - x) + Math.abs(step.y - y))
+                    assertFalse("$step is blocked", occupancy.isBlocked(step.x, step.y, searcher))
+                    x = step.x
+                    y = step.y
+                }
+                if (jpsPath.isNotEmpty()) assertEquals(eatable.position, jpsPath.last())
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.algorithmsnake
+
+import java.io.ByteArrayOutputStream
+import java.nio.ByteBuffer
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+/**
+ * Records an AI game with [KeyframeReplayWriter] and checks that seeking to any tick gives the
+ * same board as advancing to it tick by tick.
+ */
+class KeyframeReplayTest {
+    private fun describe(frame: ReplayFrame): String =
+        frame.tick.toString() + " " + frame.eatable.position + " " +
+            frame.snakes.joinToString { it.score.toString() + it.body.toString() }
+
+    @Test
+    fun seekMatchesSequentialPlayback() {
+        val engine = GameEngine(false, 0, 7L)
+        val out = ByteArrayOutputStream()
+        val writer = KeyframeReplayWriter(out, engine, 32)
+        while (!engine.isGameOver && engine.tickCount < 2_000) {
+            engine.update()
+            writer.onTick()
+        }
+        writer.finish()
+        engine.shutdown()
+
+        val replay = KeyframeReplay(ByteBuffer.wrap(out.toByteArray()))
+        assertEquals(engine.tickCount, replay.lastTick)
+        val sequential = replay.newFrame()
+        replay.seek(sequential, 0)
+        val expected = mutableListOf(describe(sequential))
+        while (replay.advance(sequential)) expected.add(describe(sequential))
+
+        val seeked = replay.newFrame()
+        for (tick in replay.lastTick downTo 0L step 7) {
+            replay.seek(seeked, tick)
+            assertEquals(expected[tick.toInt()], describe(seeked))
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.algorithmsnake
+
+import java.util.Random
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Fills arenas with the largest [Lineup] they take and checks that no two snakes share a cell,
+ * every snake is inside the walls and the mix is handed out in turn.
+ */
+class LineupTest {
+    private val mix = listOf(Snake.PathAlgorithm.ASTAR, Snake.PathAlgorithm.BFS, Snake.PathAlgorithm.JPS)
+
+    @Test
+    fun fullLineupsFitWithoutOverlap() {
+        for (arenaSize in listOf(GameEngine.MIN_ARENA_SIZE, GameEngine.GRID_WIDTH, 300)) {
+            for (layout in Lineup.Layout.values()) {
+                val aiSnakes = Lineup.maxAiSnakes(arenaSize)
+                val snakes = Lineup(aiSnakes, mix, layout).createSnakes(true, arenaSize, Random(7))
+                assertEquals(aiSnakes + 1, snakes.size)
+                val cells = HashSet<Point>()
+                for (snake in snakes) {
+                    for (cell in snake.body) {
+                        assertTrue(cell.x >= GameEngine.MIN_POS && cell.x <= arenaSize - 2)
+                        assertTrue(cell.y >= GameEngine.MIN_POS && cell.y <= arenaSize - 2)
+                        assertTrue("$cell taken twice on $arenaSize $layout", cells.add(cell))
+                    }
+                }
+                for ((i, snake) in snakes.drop(1).withIndex()) {
+                    assertEquals(mix[i % mix.size], snake.algorithm)
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun dStarLiteIsRejectedAboveTheDefaultArena() {
+        Lineup(4, listOf(Snake.PathAlgorithm.DSTAR_LITE), Lineup.Layout.GRID).createSnakes(false, 300, Random(1))
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.algorithmsnake
+
+import java.util.Random
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+/**
+ * Drives snakes through moves, grows, tail chasing and removals and checks after every step that
+ * [OwnerGrid.isBlocked] agrees with a scan of the live bodies.
+ */
+class OwnerGridTest {
+    private val minPos = 1
+    private val maxPos = 20
+    private val directions = listOf(Point(1, 0), Point(-1, 0), Point(0, 1), Point(0, -1))
+
+    // other snakes block every cell they cover, the own head and an unstacked own tail do not
+    private fun scanBlocked(alive: List<Snake>, x: Int, y: Int, snake: Snake): Boolean {
+        for (other in alive) {
+            val body = other.body
+            for (i in 0 until body.size) {
+                if (body.x(i) != x || body.y(i) != y) continue
+                if (other !== snake) return true
+                val last = body.size - 1
+                val stacked = i == last && i > 0 && body.x(i - 1) == x && body.y(i - 1) == y
+                if (i != 0 && (i != last || stacked)) return true
+            }
+        }
+        return false
+    }
+
+    private fun assertMatchesScan(owners: OwnerGrid, alive: List<Snake>, all: List<Snake>, context: String) {
+        for (snake in all) {
+            for (x in minPos..maxPos) {
+                for (y in minPos..maxPos) {
+                    assertEquals("$context, snake ${snake.id} at ($x, $y)", scanBlocked(alive, x, y, snake), owners.isBlocked(x, y, snake))
+                }
+            }
+        }
+    }
+
+    @Test
+    fun isBlockedMatchesBodyScan() {
+        for (seed in 1L..10L) {
+            val random = Random(seed)
+            val owners = OwnerGrid(minPos, maxPos)
+            // a 2x2 loop whose head moves onto the cell its tail leaves
+            val chaser = Snake(Point(5, 5), GameEngine.COLOR_GREEN, null, false, true)
+            chaser.body.reset(listOf(Point(5, 5), Point(5, 6), Point(6, 6), Point(6, 5)))
+            val all = listOf(chaser) + (0 until 4).map { i -> Snake(Point(10, 3 + i * 4), GameEngine.COLOR_RED, null, false, true) }
+            val alive = ArrayList<Snake>()
+            for ((id, snake) in all.withIndex()) {
+                snake.id = id
+                owners.addSnake(snake)
+                alive.add(snake)
+            }
+            assertMatchesScan(owners, alive, all, "seed $seed start")
+            for (step in 0 until 300) {
+                for (snake in ArrayList(alive)) {
+                    val chasing = snake === chaser && step < 100
+                    val moves = if (chasing) {
+                        listOf(Point(snake.body.tailX() - snake.body.headX(), snake.body.tailY() - snake.body.headY()))
+                    } else {
+                        directions.filter { d ->
+                            val x = snake.body.headX() + d.x
+                            val y = snake.body.headY() + d.y
+                            x in minPos..maxPos && y in minPos..maxPos && !scanBlocked(alive, x, y, snake)
+                        }
+                    }
+                    if (moves.isEmpty() || random.nextInt(200) == 0) {
+                        owners.removeSnake(snake)
+                        alive.remove(snake)
+                    } else {
+                        val tailX = snake.body.tailX()
+                        val tailY = snake.body.tailY()
+                        snake.direction = moves[random.nextInt(moves.size)]
+                        snake.move()
+                        owners.onMove(snake, tailX, tailY)
+                        if (!chasing && random.nextInt(8) == 0) {
+                            snake.grow()
+                            owners.onGrow(snake)
+                        }
+                    }
+                    assertMatchesScan(owners, alive, all, "seed $seed step $step")
+                }
+            }
+        }
+    }
+}
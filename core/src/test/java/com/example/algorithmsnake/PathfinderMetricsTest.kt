@@ -0,0 +1,62 @@
+package com.example.algorithmsnake
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Checks what [Pathfinder.findPath] and the engine's FLOW_FIELD planning leave in
+ * [PathfinderMetrics]: call and found counts and the histogram percentiles.
+ */
+class PathfinderMetricsTest {
+    private val minPos = 1
+    private val maxPos = 40
+
+    @Test
+    fun findPathRecordsEveryCall() {
+        PathfinderMetrics.resetAll()
+        val searcher = Snake(Point(5, 5), GameEngine.COLOR_GREEN, Snake.PathAlgorithm.BFS, true, true)
+        val occupancy = OccupancyGrid(minPos, maxPos)
+        occupancy.addBody(searcher.body)
+        // a ring around (30, 30) that no search gets through
+        for (x in 29..31) for (y in 29..31) if (x != 30 || y != 30) occupancy.add(x, y)
+        val budget = SearchBudget(SearchBudget.NO_EXPANSION_LIMIT, SearchBudget.NO_DEADLINE)
+        val lengths = listOf(Point(10, 5), Point(5, 15), Point(30, 20), Point(30, 30)).map { target ->
+            val eatable = Eatable()
+            eatable.position = target
+            Pathfinder.findPath(Snake.PathAlgorithm.BFS, searcher, eatable, occupancy, true, minPos, maxPos, budget).size
+        }
+        assertEquals(listOf(5, 10, 40, 48), lengths) // the last one stops at the closest cell found
+
+        val metrics = PathfinderMetrics.get(Snake.PathAlgorithm.BFS)
+        assertEquals(4L, metrics.calls)
+        assertEquals(3L, metrics.found)
+        assertEquals(1L, metrics.partial)
+        // percentiles are bucket upper bounds, capped by the largest value
+        assertEquals(7L, metrics.pathLength.getPercentile(25.0))
+        assertEquals(15L, metrics.pathLength.getPercentile(50.0))
+        assertEquals(48L, metrics.pathLength.getPercentile(100.0))
+        assertEquals(4L, metrics.expanded.count)
+        assertEquals(4L, metrics.wallTimeNanos.count)
+        assertTrue(metrics.expanded.getPercentile(100.0) >= 40)
+    }
+
+    @Test
+    fun parallelFlowFieldSearchIsRecorded() {
+        PathfinderMetrics.resetAll()
+        val snakes = (0 until 4).map { i ->
+            Snake(Point(25, 10 + i * 20), GameEngine.COLOR_RED, Snake.PathAlgorithm.FLOW_FIELD, true, true)
+        }
+        val engine = GameEngine(snakes, 0, 3L)
+        engine.setPathfindingMode(GameEngine.PathfindingMode.PARALLEL)
+        for (tick in 0 until 50) {
+            if (engine.isGameOver) break
+            engine.update()
+        }
+        engine.shutdown()
+        val metrics = PathfinderMetrics.get(Snake.PathAlgorithm.FLOW_FIELD)
+        assertTrue(metrics.calls > 0)
+        // the reverse bfs runs before the workers start and is counted with one of the snakes
+        assertTrue(metrics.expanded.max > GameEngine.GRID_WIDTH)
+    }
+}
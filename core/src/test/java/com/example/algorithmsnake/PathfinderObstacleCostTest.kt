@@ -0,0 +1,60 @@
+package com.example.algorithmsnake
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Test
+
+/**
+ * Checks that the old body-list obstacle scan and the per-tick [OccupancyGrid] give the same
+ * paths on a board whose snakes are several thousand cells long. ObstacleCostBenchmark
+ * compares their cost.
+ */
+class PathfinderObstacleCostTest {
+    private val minPos = 1
+    private val maxPos = 98
+
+    // walls every 4th row with the gap alternating between the right and left edge
+    private fun wallSnakes(): List<Snake> {
+        val snakes = mutableListOf<Snake>()
+        var y = 4
+        var gapRight = true
+        while (y < maxPos - 4) {
+            val wall = Snake(Point(minPos, y), GameEngine.COLOR_RED, Snake.PathAlgorithm.BFS, true, true)
+            val xs = if (gapRight) minPos until maxPos else (minPos + 1)..maxPos
+            wall.body.reset(xs.map { Point(it, y) })
+            snakes.add(wall)
+            y += 4
+            gapRight = !gapRight
+        }
+        return snakes
+    }
+
+    @Test
+    fun occupancyGridMatchesBodyScanOnLongBodies() {
+        val searcher = Snake(Point(3, 1), GameEngine.COLOR_GREEN, Snake.PathAlgorithm.ASTAR, true, true)
+        val snakes = listOf(searcher) + wallSnakes()
+        val bodies = snakes.map { it.body }
+        val occupancy = OccupancyGrid(minPos, maxPos)
+        occupancy.rebuild(snakes)
+        val eatable = Eatable()
+        eatable.position = Point(maxPos / 2, maxPos - 1)
+
+        val algorithms = mapOf<String, Pair<() -> List<Point>, () -> List<Point>>>(
+            "ASTAR" to Pair(
+                { Pathfinder.aStar(searcher, eatable, bodies, true, minPos, maxPos) },
+                { Pathfinder.aStar(searcher, eatable, occupancy, true, minPos, maxPos) }),
+            "BFS" to Pair(
+                { Pathfinder.bfs(searcher, eatable, bodies, true, minPos, maxPos) },
+                { Pathfinder.bfs(searcher, eatable, occupancy, true, minPos, maxPos) }),
+            "DIJKSTRA" to Pair(
+                { Pathfinder.dijkstra(searcher, eatable, bodies, true, minPos, maxPos) },
+                { Pathfinder.dijkstra(searcher, eatable, occupancy, true, minPos, maxPos) })
+        )
+        for ((name, searches) in algorithms) {
+            val scanSize = searches.first().size
+            val gridSize = searches.second().size
+            assertFalse(name, gridSize == 0)
+            assertEquals(name, scanSize, gridSize)
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.algorithmsnake
+
+import java.io.ByteArrayOutputStream
+import java.util.Random
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Records seeded player games with random inputs and checks that [ReplayPlayer] re-simulates
+ * them to the same bytes, and that a long game stays in the kilobyte range.
+ */
+class ReplayTest {
+    private val directions = listOf(Point(1, 0), Point(-1, 0), Point(0, 1), Point(0, -1))
+
+    private fun record(seed: Long, mode: GameEngine.PathfindingMode): Pair<GameEngine, ByteArray> {
+        val engine = GameEngine(true, 55, seed)
+        engine.setSearchExpansionLimit(20_000)
+        engine.setPathfindingMode(mode)
+        val out = ByteArrayOutputStream()
+        engine.startRecording(ReplayRecorder(out))
+        val input = Random(seed)
+        while (!engine.isGameOver && engine.tickCount < 5_000) {
+            if (input.nextInt(8) == 0) engine.setPlayerDirection(directions[input.nextInt(4)])
+            engine.update()
+        }
+        engine.stopRecording()
+        engine.shutdown()
+        return engine to out.toByteArray()
+    }
+
+    @Test
+    fun replayReproducesTheRecordedGame() {
+        for (seed in 1L..6L) {
+            val mode = if (seed % 2 == 0L) GameEngine.PathfindingMode.PARALLEL else GameEngine.PathfindingMode.SEQUENTIAL
+            val (engine, bytes) = record(seed, mode)
+            assertTrue("seed $seed", ReplayPlayer.verify(bytes))
+
+            val player = ReplayPlayer(Replay.read(bytes))
+            while (player.step()) { }
+            assertEquals(engine.tickCount, player.engine.tickCount)
+            assertEquals(engine.eatable.position, player.engine.eatable.position)
+            player.engine.shutdown()
+        }
+    }
+
+    @Test
+    fun longAiGameFitsInKilobytes() {
+        val engine = GameEngine(false, 55, 42L)
+        engine.setSearchExpansionLimit(20_000)
+        val out = ByteArrayOutputStream()
+        engine.startRecording(ReplayRecorder(out))
+        while (!engine.isGameOver && engine.tickCount < 20_000) {
+            engine.update()
+        }
+        engine.stopRecording()
+        engine.shutdown()
+        assertTrue(out.size() < 4096)
+        assertTrue(ReplayPlayer.verify(out.toByteArray()))
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.algorithmsnake
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+/**
+ * Moves and grows a snake past the ring buffer's wrap-around and capacity changes and checks
+ * the body against a plain list doing the same.
+ */
+class SnakeBodyTest {
+    @Test
+    fun bodyMatchesListThroughWrapAndGrowth() {
+        val snake = Snake(Point(10, 10), GameEngine.COLOR_GREEN, Snake.PathAlgorithm.BFS, true, true)
+        val expected = mutableListOf(Point(10, 10), Point(9, 10), Point(8, 10))
+        val turns = listOf(Point(1, 0), Point(0, 1), Point(-1, 0), Point(0, -1))
+        for (step in 0 until 500) {
+            snake.direction = turns[(step / 7) % turns.size]
+            val head = expected[0]
+            expected.add(0, Point(head.x + snake.direction.x, head.y + snake.direction.y))
+            expected.removeAt(expected.size - 1)
+            snake.move()
+            if (step % 5 == 0) {
+                expected.add(expected.last())
+                snake.grow()
+            }
+            assertEquals(expected, snake.body)
+            assertEquals(expected.last().x, snake.body.tailX())
+            assertEquals(expected[0].y, snake.body.headY())
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.algorithmsnake
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+/**
+ * Checks that [SnapshotBuffer] alternates between two snapshots and never hands the writer one
+ * that a reader still holds.
+ */
+class SnapshotBufferTest {
+    private val snake = Snake(Point(10, 10), 0, null, false, false).also { it.id = 3 }
+
+    private fun publish(buffer: SnapshotBuffer, tick: Long): RenderSnapshot {
+        val snapshot = buffer.beginWrite()
+        snapshot.capture(GameEngine.GRID_WIDTH, tick, listOf(snake), null, false)
+        buffer.publish()
+        return snapshot
+    }
+
+    @Test
+    fun heldSnapshotIsNotRefilled() {
+        val buffer = SnapshotBuffer()
+        assertNull(buffer.acquire())
+        val first = publish(buffer, 1)
+        val second = publish(buffer, 2)
+        assertSame(first, publish(buffer, 3)) // released ones are reused
+
+        val held = buffer.acquire()
+        assertEquals(3L, held.tick)
+        publish(buffer, 4)
+        assertNotSame(held, publish(buffer, 5))
+        assertEquals(3L, held.tick)
+        assertEquals(3, held.getKey(0))
+        assertEquals(Point(8, 10), Point(held.getX(0, 2), held.getY(0, 2)))
+        buffer.release(held)
+        assertSame(second, publish(buffer, 6)) // the pair is now second and the replacement
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.algorithmsnake
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Plays the same small tournament twice with different thread counts and checks that the results
+ * only depend on the seed and lineup, and that the runs leave no pathfinder metrics behind.
+ */
+class TournamentRunnerTest {
+    private val lineup = listOf(
+        Snake.PathAlgorithm.ASTAR, Snake.PathAlgorithm.BFS, Snake.PathAlgorithm.JPS, Snake.PathAlgorithm.FLOW_FIELD
+    )
+
+    private fun play(threads: Int): TournamentStats =
+        TournamentRunner(lineup, 16, 5L, 3000, threads, GameEngine.MIN_ARENA_SIZE).run()
+
+    @Test
+    fun sameSeedAndLineupGiveSameStats() {
+        PathfinderMetrics.resetAll()
+        val first = play(4)
+        val second = play(3)
+        assertEquals(16L, first.games)
+        assertTrue(first.draws < first.games)
+        assertEquals(first.toCsv(), second.toCsv())
+        assertEquals(first.draws, second.draws)
+        assertEquals(first.totalTicks, second.totalTicks)
+        // recording stays off during the games and is back on afterwards
+        for (algorithm in lineup) {
+            assertEquals(0L, PathfinderMetrics.get(algorithm).calls)
+        }
+        assertTrue(PathfinderMetrics.isEnabled())
+    }
+}